@@ -1,4 +1,4 @@
-package com.cameronterry.minesweeper;
+package com.cameronterry.minesweeper.app;
 
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
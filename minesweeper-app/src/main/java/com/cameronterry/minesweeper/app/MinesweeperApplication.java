@@ -1,4 +1,4 @@
-package com.cameronterry.minesweeper;
+package com.cameronterry.minesweeper.app;
 
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
@@ -8,15 +8,25 @@ import javafx.stage.Stage;
 import java.io.IOException;
 
 public class MinesweeperApplication extends Application {
+    private MinesweeperController controller;
+
     @Override
     public void start(Stage stage) throws IOException {
         FXMLLoader fxmlLoader = new FXMLLoader(MinesweeperApplication.class.getResource("minesweeper-view.fxml"));
         Scene scene = new Scene(fxmlLoader.load(), 840, 840);
+        controller = fxmlLoader.getController();
         stage.setTitle("Minesweeper");
         stage.setScene(scene);
         stage.show();
     }
 
+    @Override
+    public void stop() {
+        if (controller != null) {
+            controller.shutdown();
+        }
+    }
+
     public static void main(String[] args) {
         launch();
     }
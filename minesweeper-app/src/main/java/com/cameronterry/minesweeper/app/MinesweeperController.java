@@ -0,0 +1,1227 @@
+package com.cameronterry.minesweeper.app;
+
+import com.cameronterry.minesweeper.BoardHistory;
+import com.cameronterry.minesweeper.BoardPool;
+import com.cameronterry.minesweeper.BoardSnapshot;
+import com.cameronterry.minesweeper.BoardView;
+import com.cameronterry.minesweeper.CellState;
+import com.cameronterry.minesweeper.CellValue;
+import com.cameronterry.minesweeper.GameHistoryIndex;
+import com.cameronterry.minesweeper.GameLogWriter;
+import com.cameronterry.minesweeper.GameRecord;
+import com.cameronterry.minesweeper.GameReplay;
+import com.cameronterry.minesweeper.GameStatistics;
+import com.cameronterry.minesweeper.Metrics;
+import com.cameronterry.minesweeper.MinefieldBoard;
+import com.cameronterry.minesweeper.MinefieldSolver;
+import com.cameronterry.minesweeper.MinesweeperLogging;
+import com.cameronterry.minesweeper.MoveQueue;
+
+import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.concurrent.Task;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.*;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Polygon;
+import javafx.scene.text.Text;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.animation.AnimationTimer;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.util.Duration;
+import javafx.scene.paint.Color;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.ToDoubleFunction;
+
+public class MinesweeperController {
+    @FXML
+    private Label statusLabel;
+
+    @FXML
+    private Label minesLabel;
+
+    @FXML
+    private Label timerLabel;
+
+    @FXML
+    private Button startButton;
+
+    @FXML
+    private GridPane minesweeperGrid;
+
+    @FXML
+    private HBox leftStarsBox;
+
+    @FXML
+    private HBox rightStarsBox;
+
+    @FXML
+    private CheckMenuItem noGuessMenuItem;
+
+    private boolean timerOn = false;
+
+    private IntegerProperty secondsPassed = new SimpleIntegerProperty(0);
+    private Timeline timeline;
+
+    private MinefieldBoard minefieldBoard;
+
+    private boolean showProbabilities = false;
+
+    private boolean gameOver = false;
+
+    private final HashMap<String, String> asciiMapping = new HashMap<>();
+
+    {
+        asciiMapping.put("-1", "");
+        for (int i = 0; i < 9; i++) {
+            asciiMapping.put(Integer.toString(i), Integer.toString(i));
+        }
+    }
+
+    private int boardRows = 9, boardCols = 9, boardMines = 10;
+
+    private final MinesweeperLogging logger = new MinesweeperLogging();
+
+    private static final String FINISHED_GAMES_LOG = "finished_games.json";
+    private static final String SAVED_GAME_FILE = "saved_game.bin";
+    private static final String METRICS_FILE = "metrics.txt";
+
+    private static final Metrics.Histogram UPDATE_CELL_TIME = Metrics.histogram("ui.updateCell");
+
+    private final GameLogWriter finishedGamesLog = new GameLogWriter(FINISHED_GAMES_LOG,
+            GameLogWriter.RecordFormat.JSON_LINES, GameLogWriter.FsyncPolicy.ON_CLOSE);
+    private final GameLogWriter finishedGamesBinaryLog = new GameLogWriter("finished_games.bin",
+            GameLogWriter.RecordFormat.LENGTH_PREFIXED, GameLogWriter.FsyncPolicy.ON_CLOSE);
+    // one replay per finished game, in the same order as the finished games logs
+    private final GameLogWriter finishedGamesReplayLog = new GameLogWriter("finished_games.replay",
+            GameLogWriter.RecordFormat.LENGTH_PREFIXED, GameLogWriter.FsyncPolicy.ON_CLOSE);
+
+    // moves of the game in progress, and the changes they made for undo
+    private GameReplay replay;
+    private final BoardHistory history = new BoardHistory();
+    // cells uncovered when the game ended, undone together with the losing move
+    private int[] gameOverReveal = new int[0];
+
+    // boards for the next games, generated in the background
+    private final BoardPool boardPool = new BoardPool();
+
+    // history, statistics and save file I/O; a single thread keeps saves and loads in order
+    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "minesweeper-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // probabilities for the covered cells, scored from board views off the FX thread
+    private final ExecutorService solverExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "minesweeper-solver");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private float[][] cellProbabilities;
+
+    // moves queued by the mouse handlers, applied in order on the FX thread and rendered once per pulse
+    private final MoveQueue moveQueue = new MoveQueue(Platform::runLater);
+    // bumped to drop the moves still queued when the game they were made on ends or is replaced
+    private int moveEpoch;
+    // by cell index (row * cols + col)
+    private final BitSet dirtyCells = new BitSet();
+
+    private final AnimationTimer renderLoop = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            renderDirtyCells();
+        }
+    };
+
+    public Polygon createStar(double centerX, double centerY, double innerRadius, double outerRadius, int numRays, Color fillColor) {
+        Polygon star = new Polygon();
+        double deltaAngle = Math.PI / numRays;
+
+        for (int i = 0; i < numRays * 2; i++) {
+            double radius = (i % 2 == 0) ? outerRadius : innerRadius;
+            double angle = i * deltaAngle;
+            double x = centerX + radius * Math.sin(angle);
+            double y = centerY - radius * Math.cos(angle);
+            star.getPoints().addAll(x, y);
+        }
+
+        star.setFill(fillColor);
+        // border for the star
+         star.setStroke(Color.BLACK); // Color of the star's border
+         star.setStrokeWidth(1); // Width of the star's border
+
+        return star;
+    }
+
+    private ImageView getImage(String imagePath, int width, int height) {
+        Image minesweeperImage = new Image(Objects.requireNonNull(getClass().getResourceAsStream(imagePath)));
+        ImageView minesweeperImageView = new ImageView(minesweeperImage);
+        minesweeperImageView.setFitWidth(width);
+        minesweeperImageView.setFitHeight(height);
+        minesweeperImageView.setPreserveRatio(false);
+
+        return minesweeperImageView;
+    }
+
+    private void setStatusLabel(String imagePath) {
+        ImageView minesweeperImageView = getImage(imagePath, 50, 50);
+        statusLabel.setGraphic(minesweeperImageView);
+        statusLabel.setPadding(Insets.EMPTY);
+        statusLabel.setStyle("-fx-background-color: transparent;");
+        statusLabel.setText("");
+    }
+
+    private final HashMap<Integer, Color> numberColorMapping = new HashMap<>();
+
+    {
+        numberColorMapping.put(1, Color.BLUE);
+        numberColorMapping.put(2, Color.GREEN);
+        numberColorMapping.put(3, Color.RED);
+        numberColorMapping.put(4, Color.DARKBLUE);
+        numberColorMapping.put(5, Color.DARKRED);
+        numberColorMapping.put(6, Color.DARKCYAN);
+        numberColorMapping.put(7, Color.BLACK);
+        numberColorMapping.put(8, Color.GRAY);
+    }
+
+    private void populateGrid() {
+        // Define column constraints so that each cell has an equal width
+        for (int i = 0; i < minefieldBoard.getCols(); i++) {
+            ColumnConstraints column = new ColumnConstraints();
+            column.setPercentWidth(100.0 / minefieldBoard.getCols()); // Equal width
+            minesweeperGrid.getColumnConstraints().add(column);
+        }
+
+        // Define row constraints so that each cell has an equal height
+        for (int i = 0; i < minefieldBoard.getRows(); i++) {
+            RowConstraints row = new RowConstraints();
+            row.setPercentHeight(100.0 / minefieldBoard.getRows()); // Equal height
+            minesweeperGrid.getRowConstraints().add(row);
+        }
+
+        // Set the grid's gaps to a minimal value to use the space more efficiently
+        minesweeperGrid.setHgap(2); // horizontal gap
+        minesweeperGrid.setVgap(2); // vertical gap
+
+
+        // Add buttons to the grid
+        for (int row = 0; row < minefieldBoard.getRows(); row++) {
+            for (int col = 0; col < minefieldBoard.getCols(); col++) {
+                Button cellButton = new Button();
+                cellButton.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+                // set font-size to 20px
+                cellButton.setStyle("-fx-font-size: 20px; -fx-font-weight: bold");
+                int finalRow = row;
+                int finalCol = col;
+                cellButton.setOnMouseClicked(e ->
+                {
+                    if (e.getButton() == MouseButton.PRIMARY) {
+                        queueMove(() -> handleCellClick(finalRow, finalCol));
+                    } else if (e.getButton() == MouseButton.SECONDARY) {
+                        queueMove(() -> handleFlag(finalRow, finalCol));
+                    }
+                });
+                minesweeperGrid.add(cellButton, col, row);
+                GridPane.setFillWidth(cellButton, true);
+                GridPane.setFillHeight(cellButton, true);
+            }
+        }
+
+        // Chording: revealed numbers are disabled buttons, so clicks on them fall through to the grid.
+        // Middle clicks on any cell bubble up here as well.
+        minesweeperGrid.setOnMouseClicked(e -> {
+            if (e.getButton() == MouseButton.SECONDARY
+                    || (e.getTarget() != minesweeperGrid && e.getButton() != MouseButton.MIDDLE)) {
+                return;
+            }
+
+            for (Node child : minesweeperGrid.getChildren()) {
+                if (child.getBoundsInParent().contains(e.getX(), e.getY())) {
+                    int chordRow = GridPane.getRowIndex(child);
+                    int chordCol = GridPane.getColumnIndex(child);
+                    queueMove(() -> handleChord(chordRow, chordCol));
+                    break;
+                }
+            }
+        });
+
+        // Force the grid to grow and fill the available vertical space.
+        VBox.setVgrow(minesweeperGrid, Priority.ALWAYS);
+    }
+
+    private Button getCellButton(int row, int col) {
+        return (Button) minesweeperGrid.getChildren().get(row * minefieldBoard.getCols() + col);
+    }
+
+    /**
+     * A new board for the current configuration, taken from the pool of pre-generated boards.
+     * No-guess boards come with their opening uncovered.
+     */
+    private MinefieldBoard createBoard() {
+        return boardPool.take(boardRows, boardCols, boardMines, noGuessMenuItem.isSelected());
+    }
+
+    private void startRecording() {
+        replay = new GameReplay(minefieldBoard);
+        history.clear();
+    }
+
+    private void queueMove(Runnable move) {
+        int epoch = moveEpoch;
+        moveQueue.execute(() -> {
+            if (epoch == moveEpoch) {
+                move.run();
+                renderLoop.start();
+            }
+            return null;
+        });
+    }
+
+    private void discardPendingMoves() {
+        moveEpoch++;
+        dirtyCells.clear();
+    }
+
+    /**
+     * Redraws only the cells touched by the moves applied since the last pulse.
+     */
+    private void renderDirtyCells() {
+        renderLoop.stop();
+        if (dirtyCells.isEmpty()) {
+            return;
+        }
+
+        int cols = minefieldBoard.getCols();
+        for (int cell = dirtyCells.nextSetBit(0); cell >= 0; cell = dirtyCells.nextSetBit(cell + 1)) {
+            this.updateCell(cell / cols, cell % cols);
+        }
+        dirtyCells.clear();
+        if (showProbabilities) {
+            // a single move can change the probability of any covered cell
+            this.requestProbabilities();
+        }
+    }
+
+    /**
+     * Scores the board as it is now on the solver thread, then redraws the covered cells with
+     * the scores, unless the board has changed again by the time they are ready.
+     */
+    private void requestProbabilities() {
+        BoardView view = minefieldBoard.view();
+        Task<float[][]> solveTask = new Task<>() {
+            @Override
+            protected float[][] call() {
+                MinefieldSolver minefieldSolver = new MinefieldSolver(view);
+                minefieldSolver.getProbabilities(view);
+                return minefieldSolver.getBoardProbabilities();
+            }
+        };
+        solveTask.setOnSucceeded(e -> {
+            if (!showProbabilities || minefieldBoard.view() != view) {
+                return;
+            }
+            cellProbabilities = solveTask.getValue();
+            for (int r = 0; r < view.getRows(); r++) {
+                for (int c = 0; c < view.getCols(); c++) {
+                    if (view.getState(r, c) == CellState.COVERED) {
+                        this.updateCell(r, c);
+                    }
+                }
+            }
+        });
+        solveTask.setOnFailed(e -> solveTask.getException().printStackTrace());
+        solverExecutor.submit(solveTask);
+    }
+
+    @FXML
+    private void onConfigureBoard(ActionEvent event) {
+        try {
+            FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("board-config-form.fxml"));
+            VBox boardConfigBox = fxmlLoader.load();
+
+            // Secondary controller for handling BoardConfigForm.fxml
+            BoardConfigController configController = fxmlLoader.getController();
+            configController.setInitialValues(boardRows, boardCols, boardMines);
+
+            Stage popupStage = new Stage();
+            popupStage.initModality(Modality.APPLICATION_MODAL);
+            popupStage.setTitle("Configure Board");
+            popupStage.setScene(new Scene(boardConfigBox));
+
+            // Set the action for when the OK button is clicked
+            configController.setOkAction(() -> {
+                leftStarsBox.getChildren().clear();
+                rightStarsBox.getChildren().clear();
+
+                boardRows = Integer.parseInt(configController.getRowsField().getText());
+                boardCols = Integer.parseInt(configController.getColsField().getText());
+                boardMines = Integer.parseInt(configController.getMinesField().getText());
+                discardPendingMoves();
+                gameOver = false;
+
+                 // Initialize board with the provided parameters
+                 minefieldBoard = createBoard();
+                 minefieldBoard.updateCellCoverageCache();
+                 startRecording();
+
+                 // reset the grid with the new board
+                    minesweeperGrid.getChildren().clear();
+                    minesweeperGrid.getRowConstraints().clear();
+                    minesweeperGrid.getColumnConstraints().clear();
+                    populateGrid();
+
+                    for (int r = 0; r < minefieldBoard.getRows(); r++) {
+                        for (int c = 0; c < minefieldBoard.getCols(); c++) {
+                            this.updateCell(r, c);
+                            Button cellButton = getCellButton(r, c);
+                            cellButton.setStyle("-fx-text-fill: black; -fx-font-size: 20px;");
+                            // clear images
+                            cellButton.setGraphic(null);
+
+                        }
+                    }
+
+                    // Reset timer to 0
+                    secondsPassed.set(0);
+
+                    // Bind the timerLabel text property to the secondsPassed property with a custom string format
+                    timerLabel.textProperty().bind(Bindings.createStringBinding(() ->
+                            "Time: " + formatTime(secondsPassed.get()), secondsPassed));
+
+                popupStage.close();
+            });
+
+            this.stopTimer();
+            this.setStatusLabel("/images/minesweeper_default.png");
+            showProbabilities = false;
+
+            popupStage.showAndWait();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @FXML
+    private void onStatusLabelUpdate(MouseEvent event) {
+        if (!showProbabilities) {
+            this.setStatusLabel("/images/minesweeper_secret.png");
+        } else {
+            this.setStatusLabel("/images/minesweeper_default.png");
+        }
+        showProbabilities = !showProbabilities;
+        cellProbabilities = null;
+        if (showProbabilities) {
+            this.requestProbabilities();
+        }
+
+        for (int r = 0; r < minefieldBoard.getRows(); r++) {
+            for (int c = 0; c < minefieldBoard.getCols(); c++) {
+                this.updateCell(r, c);
+            }
+        }
+    }
+
+    private void loadFinishedGame(GameRecord record) {
+        leftStarsBox.getChildren().clear();
+        rightStarsBox.getChildren().clear();
+        setStatusLabel("/images/minesweeper_win.png");
+        displayWinStars(record.getHighestNumber());
+
+        boardRows = record.getRows();
+        boardCols = record.getCols();
+        boardMines = record.getNumMines();
+        discardPendingMoves();
+        gameOver = true;
+        minefieldBoard = MinefieldBoard.fromFinishedRecord(record);
+        history.clear();
+
+        // reset the grid with the new board
+        minesweeperGrid.getChildren().clear();
+        minesweeperGrid.getRowConstraints().clear();
+        minesweeperGrid.getColumnConstraints().clear();
+        populateGrid();
+
+        for (int r = 0; r < boardRows; r++) {
+            for (int c = 0; c < boardCols; c++) {
+                this.updateCell(r, c);
+                Button cellButton = getCellButton(r, c);
+                cellButton.setStyle("-fx-font-size: 20px;");
+                // clear images
+                cellButton.setGraphic(null);
+                cellButton.setDisable(true);
+
+                // set the color of the number
+                int rawCellValue = record.getBoardState()[r][c];
+                if (rawCellValue > 0) {
+                    Color textColor = numberColorMapping.getOrDefault(rawCellValue, Color.BLACK);
+                    String colorStyle = String.format("-fx-text-fill: #%02X%02X%02X; -fx-font-size: 20px;",
+                            (int) (textColor.getRed() * 255),
+                            (int) (textColor.getGreen() * 255),
+                            (int) (textColor.getBlue() * 255));
+
+                    cellButton.setStyle(colorStyle);
+                } else if (rawCellValue == -1) {
+                    // make the button red
+                    cellButton.setStyle("-fx-background-color: red; -fx-font-size: 20px;");
+                    cellButton.setText("^");
+                } else {
+                    cellButton.setStyle("-fx-background-color: darkgray; -fx-font-size: 20px;");
+                    cellButton.setText("-");
+                }
+
+                if (rawCellValue == record.getHighestNumber()) {
+                    Color textColor = numberColorMapping.getOrDefault(rawCellValue, Color.BLACK);
+                    String colorStyle = String.format("-fx-text-fill: #%02X%02X%02X; -fx-font-size: 20px; -fx-border-color: gold; -fx-border-width: 2px;",
+                            (int) (textColor.getRed() * 255),
+                            (int) (textColor.getGreen() * 255),
+                            (int) (textColor.getBlue() * 255));
+
+                    cellButton.setStyle(colorStyle);
+                }
+            }
+        }
+
+
+        // Reset timer to 0
+        secondsPassed = new SimpleIntegerProperty(record.getFinalTime());
+
+        // Bind the timerLabel text property to the secondsPassed property with a custom string format
+        timerLabel.textProperty().bind(Bindings.createStringBinding(() ->
+                "Time: " + formatTime(secondsPassed.get()), secondsPassed));
+
+        this.minesLabel.setText("Mines: " + minefieldBoard.getNumMines());
+    }
+
+    @FXML
+    private void onSaveGame(ActionEvent event) {
+        if (gameOver) {
+            return;
+        }
+        byte[] snapshot = new BoardSnapshot(minefieldBoard, secondsPassed.get()).toBytes();
+        Task<Void> saveTask = new Task<>() {
+            @Override
+            protected Void call() throws IOException {
+                BoardSnapshot.save(snapshot, Path.of(SAVED_GAME_FILE));
+                return null;
+            }
+        };
+        saveTask.setOnFailed(e -> saveTask.getException().printStackTrace());
+        ioExecutor.submit(saveTask);
+    }
+
+    @FXML
+    private void onLoadGame(ActionEvent event) {
+        Task<BoardSnapshot> loadTask = new Task<>() {
+            @Override
+            protected BoardSnapshot call() throws IOException {
+                return BoardSnapshot.load(Path.of(SAVED_GAME_FILE));
+            }
+        };
+        loadTask.setOnSucceeded(e -> resumeGame(loadTask.getValue()));
+        loadTask.setOnFailed(e -> loadTask.getException().printStackTrace());
+        ioExecutor.submit(loadTask);
+    }
+
+    private void resumeGame(BoardSnapshot snapshot) {
+        this.stopTimer();
+        leftStarsBox.getChildren().clear();
+        rightStarsBox.getChildren().clear();
+        setStatusLabel("/images/minesweeper_default.png");
+        showProbabilities = false;
+        discardPendingMoves();
+        gameOver = false;
+
+        minefieldBoard = snapshot.board();
+        startRecording();
+        boardRows = minefieldBoard.getRows();
+        boardCols = minefieldBoard.getCols();
+        boardMines = minefieldBoard.getNumMines();
+
+        // reset the grid with the restored board
+        minesweeperGrid.getChildren().clear();
+        minesweeperGrid.getRowConstraints().clear();
+        minesweeperGrid.getColumnConstraints().clear();
+        populateGrid();
+        for (int r = 0; r < minefieldBoard.getRows(); r++) {
+            for (int c = 0; c < minefieldBoard.getCols(); c++) {
+                this.updateCell(r, c);
+            }
+        }
+
+        // the timer picks up from the saved time on the next click
+        secondsPassed.set(snapshot.elapsedSeconds());
+        timerLabel.textProperty().bind(Bindings.createStringBinding(() ->
+                "Time: " + formatTime(secondsPassed.get()), secondsPassed));
+    }
+
+    private String formatTime(int secondsPassed) {
+        // Format the seconds into hours, minutes, and seconds
+        int hours = secondsPassed / 3600;
+        int minutes = (secondsPassed % 3600) / 60;
+        int seconds = secondsPassed % 60;
+        return (hours > 0 ? String.format("%02d:%02d:%02d", hours, minutes, seconds) : String.format("%02d:%02d", minutes, seconds));
+    }
+
+    public void stopTimer() {
+        if (timeline != null) {
+            timeline.stop();
+            timerOn = false;
+            timerLabel.textProperty().unbind(); // Unbind the property
+            timerLabel.setText("Time: " + formatTime(secondsPassed.get())); // Update one last time manually
+        }
+    }
+
+    @FXML
+    protected void onMinesweeperButtonClick() {
+        leftStarsBox.getChildren().clear();
+        rightStarsBox.getChildren().clear();
+        setStatusLabel("/images/minesweeper_default.png");
+        showProbabilities = false;
+        discardPendingMoves();
+        gameOver = false;
+
+        minefieldBoard = createBoard();
+        minefieldBoard.updateCellCoverageCache();
+        startRecording();
+        for (int r = 0; r < minefieldBoard.getRows(); r++) {
+            for (int c = 0; c < minefieldBoard.getCols(); c++) {
+                updateCell(r, c);
+                Button cellButton = getCellButton(r, c);
+                cellButton.setStyle("-fx-text-fill: black; -fx-font-size: 20px;");
+                // clear images
+                cellButton.setGraphic(null);
+
+            }
+        }
+        // Reset timer to 0
+        secondsPassed.set(0);
+
+        // Bind the timerLabel text property to the secondsPassed property with a custom string format
+        timerLabel.textProperty().bind(Bindings.createStringBinding(() ->
+                "Time: " + formatTime(secondsPassed.get()), secondsPassed));
+
+    }
+
+
+    @FXML
+    private void onShowRecentFinishedGames() {
+        Stage recentGamesStage = new Stage();
+        recentGamesStage.setTitle("Recent Games");
+
+        // Create a TableView for the game records
+        TableView<GameRecord> tableView = new TableView<>();
+
+        // Define the game info column
+        TableColumn<GameRecord, GameRecord> gameInfoColumn = new TableColumn<>("Game Information");
+        gameInfoColumn.setCellValueFactory(cellData -> new ReadOnlyObjectWrapper<>(cellData.getValue()));
+
+        gameInfoColumn.setCellFactory(column -> new TableCell<GameRecord, GameRecord>() {
+            @Override
+            protected void updateItem(GameRecord item, boolean empty) {
+                super.updateItem(item, empty);
+                if (item == null || empty) {
+                    setText(null);
+                    setGraphic(null);
+                } else {
+                    int neighborMax = item.getHighestNumber();
+                    Circle colorCircle = new Circle(neighborMax, numberColorMapping.getOrDefault(neighborMax, Color.BLACK));
+                    String gameInfo = String.format("(%d, %d) → %d | %s",
+                            item.getRows(), item.getCols(), item.getNumMines(),
+                            formatSecondsAsMMSS(item.getFinalTime()));
+                    Text gameInfoText = new Text(gameInfo);
+
+                    // Create a HBox to hold the circle and the text
+                    HBox hbox = new HBox(colorCircle, gameInfoText);
+                    hbox.setSpacing(10); // Set spacing between circle and text
+                    hbox.setAlignment(Pos.CENTER_LEFT); // Align contents to the left
+
+                    // Set the graphic of the cell to our HBox
+                    setGraphic(hbox);
+                }
+            }
+        });
+
+        // Define the date column
+        TableColumn<GameRecord, String> dateColumn = new TableColumn<>("Date");
+        dateColumn.setCellValueFactory(cellData -> {
+            GameRecord record = cellData.getValue();
+            DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm:ss");
+            return new SimpleStringProperty(record.getDateTime().format(dateTimeFormatter));
+        });
+
+        // Add columns to the TableView
+        tableView.getColumns().add(gameInfoColumn);
+        tableView.getColumns().add(dateColumn);
+
+        // Populate the TableView with game records, most recent first, in batches as they are read
+        Task<Void> loadTask = new Task<>() {
+            @Override
+            protected Void call() throws IOException {
+                finishedGamesLog.flush();
+                GameHistoryIndex.update(FINISHED_GAMES_LOG);
+                ByteBuffer entries = GameHistoryIndex.readEntries(FINISHED_GAMES_LOG);
+                int total = entries.limit() / GameHistoryIndex.ENTRY_SIZE;
+
+                List<GameRecord> batch = new ArrayList<>();
+                for (int i = total - 1; i >= 0 && !isCancelled(); i--) {
+                    batch.add(GameHistoryIndex.readEntry(entries, i, FINISHED_GAMES_LOG));
+                    if (batch.size() == 256 || i == 0) {
+                        List<GameRecord> loaded = batch;
+                        batch = new ArrayList<>();
+                        Platform.runLater(() -> tableView.getItems().addAll(loaded));
+                        updateProgress(total - i, total);
+                    }
+                }
+                return null;
+            }
+        };
+        loadTask.setOnFailed(e -> loadTask.getException().printStackTrace());
+        recentGamesStage.setOnHidden(e -> loadTask.cancel());
+
+        ProgressBar progressBar = new ProgressBar();
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+        progressBar.progressProperty().bind(loadTask.progressProperty());
+        progressBar.visibleProperty().bind(loadTask.runningProperty());
+        progressBar.managedProperty().bind(loadTask.runningProperty());
+
+        // Event listener for selection
+        tableView.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
+            if (newSelection != null) {
+                openFinishedGame(newSelection);
+            }
+        });
+
+        // Make sure TableView takes up all available space
+        tableView.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+
+        // Create the scene and show the stage
+        BorderPane recentGamesPane = new BorderPane(tableView);
+        recentGamesPane.setBottom(progressBar);
+        Scene scene = new Scene(recentGamesPane, 400, 300); // You might want to adjust the size
+        recentGamesStage.setScene(scene);
+        recentGamesStage.show();
+        ioExecutor.submit(loadTask);
+    }
+
+    /**
+     * Reads the selected game's board from the log in the background, then shows it.
+     */
+    private void openFinishedGame(GameRecord record) {
+        Task<GameRecord> readTask = new Task<>() {
+            @Override
+            protected GameRecord call() {
+                record.getBoardState();
+                return record;
+            }
+        };
+        readTask.setOnSucceeded(e -> loadFinishedGame(readTask.getValue()));
+        readTask.setOnFailed(e -> readTask.getException().printStackTrace());
+        ioExecutor.submit(readTask);
+    }
+
+    @FXML
+    private void onShowStatistics() {
+        Stage statisticsStage = new Stage();
+        statisticsStage.setTitle("Statistics");
+
+        TableView<Map.Entry<GameStatistics.Configuration, GameStatistics.ConfigurationStats>> tableView = new TableView<>();
+
+        TableColumn<Map.Entry<GameStatistics.Configuration, GameStatistics.ConfigurationStats>, String> boardColumn = new TableColumn<>("Board");
+        boardColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getKey().toString()));
+
+        TableColumn<Map.Entry<GameStatistics.Configuration, GameStatistics.ConfigurationStats>, String> gamesColumn = new TableColumn<>("Games");
+        gamesColumn.setCellValueFactory(cellData -> {
+            GameStatistics.ConfigurationStats stats = cellData.getValue().getValue();
+            return new SimpleStringProperty(String.format("%d (%.1f/day)", stats.getGamesPlayed(),
+                    (double) stats.getGamesPlayed() / Math.max(1, stats.getGamesPerDay().size())));
+        });
+
+        TableColumn<Map.Entry<GameStatistics.Configuration, GameStatistics.ConfigurationStats>, String> timesColumn = new TableColumn<>("Best / Median / p95");
+        timesColumn.setCellValueFactory(cellData -> {
+            GameStatistics.ConfigurationStats stats = cellData.getValue().getValue();
+            return new SimpleStringProperty(String.format("%s / %s / %s",
+                    formatSecondsAsMMSS(stats.getBestTime()),
+                    formatSecondsAsMMSS(stats.getMedianTime()),
+                    formatSecondsAsMMSS(stats.percentileTime(95))));
+        });
+
+        TableColumn<Map.Entry<GameStatistics.Configuration, GameStatistics.ConfigurationStats>, String> highestColumn = new TableColumn<>("Highest number");
+        highestColumn.setCellValueFactory(cellData -> {
+            int[] highestNumberCounts = cellData.getValue().getValue().getHighestNumberCounts();
+            StringBuilder distribution = new StringBuilder();
+            for (int i = 1; i < highestNumberCounts.length; i++) {
+                if (highestNumberCounts[i] > 0) {
+                    distribution.append(i).append(": ").append(highestNumberCounts[i]).append("  ");
+                }
+            }
+            return new SimpleStringProperty(distribution.toString().strip());
+        });
+
+        tableView.getColumns().add(boardColumn);
+        tableView.getColumns().add(gamesColumn);
+        tableView.getColumns().add(timesColumn);
+        tableView.getColumns().add(highestColumn);
+
+        Task<GameStatistics> statisticsTask = new Task<>() {
+            @Override
+            protected GameStatistics call() {
+                finishedGamesLog.flush();
+                return GameStatistics.compute(FINISHED_GAMES_LOG, GameLogWriter.RecordFormat.JSON_LINES);
+            }
+        };
+        statisticsTask.setOnSucceeded(e -> {
+            GameStatistics statistics = statisticsTask.getValue();
+            tableView.getItems().setAll(statistics.getEntries());
+            if (statistics.getSkippedRecords() > 0) {
+                statisticsStage.setTitle(statisticsStage.getTitle() + " (" + statistics.getSkippedRecords() + " unreadable games skipped)");
+            }
+        });
+        statisticsTask.setOnFailed(e -> {
+            statisticsTask.getException().printStackTrace();
+            tableView.setPlaceholder(new Label("Could not read the game history: " + statisticsTask.getException().getMessage()));
+        });
+        tableView.setPlaceholder(new Label("Loading..."));
+        tableView.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+
+        Scene scene = new Scene(new BorderPane(tableView), 600, 300);
+        statisticsStage.setScene(scene);
+        statisticsStage.show();
+        ioExecutor.submit(statisticsTask);
+    }
+
+    @FXML
+    private void onShowDiagnostics() {
+        Stage diagnosticsStage = new Stage();
+        diagnosticsStage.setTitle("Diagnostics");
+
+        TableView<Metrics.Summary> histogramTable = new TableView<>();
+        TableColumn<Metrics.Summary, String> nameColumn = new TableColumn<>("Timer");
+        nameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().name()));
+        histogramTable.getColumns().add(nameColumn);
+        TableColumn<Metrics.Summary, String> countColumn = new TableColumn<>("Count");
+        countColumn.setCellValueFactory(cellData -> new SimpleStringProperty(Long.toString(cellData.getValue().count())));
+        histogramTable.getColumns().add(countColumn);
+        Map<String, ToDoubleFunction<Metrics.Summary>> latencies = new LinkedHashMap<>();
+        latencies.put("Mean (µs)", Metrics.Summary::mean);
+        latencies.put("p50 (µs)", Metrics.Summary::p50);
+        latencies.put("p90 (µs)", Metrics.Summary::p90);
+        latencies.put("p99 (µs)", Metrics.Summary::p99);
+        latencies.put("Max (µs)", Metrics.Summary::max);
+        latencies.forEach((title, nanos) -> {
+            TableColumn<Metrics.Summary, String> column = new TableColumn<>(title);
+            column.setCellValueFactory(cellData ->
+                    new SimpleStringProperty(String.format("%.1f", nanos.applyAsDouble(cellData.getValue()) / 1000)));
+            histogramTable.getColumns().add(column);
+        });
+        histogramTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+
+        TableView<Map.Entry<String, Long>> counterTable = new TableView<>();
+        TableColumn<Map.Entry<String, Long>, String> counterColumn = new TableColumn<>("Counter");
+        counterColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getKey()));
+        TableColumn<Map.Entry<String, Long>, String> valueColumn = new TableColumn<>("Value");
+        valueColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getValue().toString()));
+        counterTable.getColumns().add(counterColumn);
+        counterTable.getColumns().add(valueColumn);
+        counterTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        counterTable.setPrefHeight(120);
+
+        Runnable refresh = () -> {
+            histogramTable.getItems().setAll(Metrics.summaries());
+            counterTable.getItems().setAll(Metrics.counters().entrySet());
+        };
+        refresh.run();
+
+        Button refreshButton = new Button("Refresh");
+        refreshButton.setOnAction(e -> refresh.run());
+        Button resetButton = new Button("Reset");
+        resetButton.setOnAction(e -> {
+            Metrics.reset();
+            refresh.run();
+        });
+        Button dumpButton = new Button("Dump to " + METRICS_FILE);
+        dumpButton.setOnAction(e -> {
+            Task<Void> dumpTask = new Task<>() {
+                @Override
+                protected Void call() throws IOException {
+                    Metrics.dump(Path.of(METRICS_FILE));
+                    return null;
+                }
+            };
+            dumpTask.setOnFailed(event -> dumpTask.getException().printStackTrace());
+            ioExecutor.submit(dumpTask);
+        });
+
+        HBox buttons = new HBox(10, refreshButton, resetButton, dumpButton);
+        buttons.setAlignment(Pos.CENTER_RIGHT);
+        buttons.setPadding(new Insets(10));
+        VBox tables = new VBox(10, histogramTable, counterTable);
+        VBox.setVgrow(histogramTable, Priority.ALWAYS);
+
+        BorderPane root = new BorderPane(tables);
+        root.setBottom(buttons);
+        diagnosticsStage.setScene(new Scene(root, 720, 420));
+        diagnosticsStage.show();
+    }
+
+    private String formatSecondsAsMMSS(int totalSecs) {
+        int minutes = totalSecs / 60;
+        int seconds = totalSecs % 60;
+        return String.format("%02d:%02d", minutes, seconds);
+    }
+
+    public void initialize() {
+        leftStarsBox.getChildren().clear();
+        rightStarsBox.getChildren().clear();
+        this.setStatusLabel("/images/minesweeper_default.png");
+
+        // Initialize the MinefieldBoard with 9 rows, 9 columns, and 10 mines.
+        minefieldBoard = new MinefieldBoard(9, 9, 10);
+        startRecording();
+
+        // Populate the GridPane with buttons
+        populateGrid();
+
+        // Reset timer to 0
+        secondsPassed.set(0);
+        // Bind the timerLabel text property to the secondsPassed property
+        timerLabel.textProperty().bind(Bindings.createStringBinding(() ->
+                "Time: " + formatTime(secondsPassed.get()), secondsPassed));
+    }
+
+    /**
+     * Writes out any queued game records; called when the application exits.
+     */
+    public void shutdown() {
+        ioExecutor.shutdown();
+        solverExecutor.shutdownNow();
+        boardPool.close();
+        finishedGamesLog.close();
+        finishedGamesBinaryLog.close();
+        finishedGamesReplayLog.close();
+    }
+
+    public void displayWinStars(int numberOfStars) {
+        leftStarsBox.getChildren().clear();
+        rightStarsBox.getChildren().clear();
+
+        int starsRight = numberOfStars / 2;
+        int starsLeft = numberOfStars - starsRight;
+
+        for (int i = 0; i < starsLeft; i++) {
+            Polygon leftStar = createStar(0, 0, 10, 20, 5, numberColorMapping.getOrDefault(numberOfStars, Color.GOLD));
+            leftStarsBox.getChildren().add(leftStar);
+        }
+
+        for (int i = 0; i < starsRight; i++) {
+            Polygon rightStar = createStar(0, 0, 10, 20, 5, numberColorMapping.getOrDefault(numberOfStars, Color.GOLD));
+            rightStarsBox.getChildren().add(rightStar);
+        }
+    }
+
+
+    private void handleCellClick(int row, int col) {
+        if (gameOver) {
+            return;
+        }
+        if (!timerOn) {
+            // Create a Timeline that updates every second
+            timeline = new Timeline(new KeyFrame(Duration.seconds(1), event -> {
+                secondsPassed.set(secondsPassed.get() + 1);
+            }));
+            timeline.setCycleCount(Timeline.INDEFINITE); // Let the timeline run indefinitely
+            timeline.play(); // Start the timeline
+            timerOn = true;
+        }
+        boolean hitMine = minefieldBoard.uncover(row, col);
+        replay.record(GameReplay.Move.UNCOVER, row, col, minefieldBoard);
+        dirtyCells.or(minefieldBoard.getLastRevealedCells());
+        recordMove(hitMine);
+    }
+
+    private void handleFlag(int row, int col) {
+        if (gameOver) {
+            return;
+        }
+        minefieldBoard.flagCell(row, col);
+        replay.record(GameReplay.Move.FLAG, row, col, minefieldBoard);
+        history.record(minefieldBoard.getLastChanges());
+        dirtyCells.set(minefieldBoard.cellIndex(row, col));
+    }
+
+    /**
+     * Records the changes of the move just made for undo, then ends the game if it is over.
+     * The end-of-game reveal is kept apart, so a redo of the losing move reveals the board afresh.
+     */
+    private void recordMove(boolean hitMine) {
+        int[] moveChanges = minefieldBoard.getLastChanges();
+        history.record(moveChanges);
+        checkGameOver(hitMine);
+        int[] changes = minefieldBoard.getLastChanges();
+        gameOverReveal = Arrays.copyOfRange(changes, moveChanges.length, changes.length);
+    }
+
+    @FXML
+    private void onUndo(ActionEvent event) {
+        queueMove(() -> {
+            // a won game is final, only lost and unfinished games can be taken back
+            if (!history.canUndo() || (gameOver && minefieldBoard.getLegalCells().isEmpty())) {
+                return;
+            }
+            if (gameOver) {
+                minefieldBoard.applyChanges(gameOverReveal, true);
+            }
+            int[] delta = history.undo(minefieldBoard);
+            replay.record(GameReplay.Move.UNDO, delta, minefieldBoard);
+            if (gameOver) {
+                resumeAfterGameOver();
+            } else {
+                dirtyCells.or(minefieldBoard.getLastRevealedCells());
+            }
+        });
+    }
+
+    @FXML
+    private void onRedo(ActionEvent event) {
+        queueMove(() -> {
+            if (!history.canRedo() || gameOver) {
+                return;
+            }
+            int[] delta = history.redo(minefieldBoard);
+            replay.record(GameReplay.Move.REDO, delta, minefieldBoard);
+            dirtyCells.or(minefieldBoard.getLastRevealedCells());
+
+            boolean hitMine = false;
+            for (int change : delta) {
+                int cell = BoardHistory.cell(change);
+                hitMine |= BoardHistory.after(change) == CellState.UNCOVERED.ordinal()
+                        && minefieldBoard.getMines()[cell / minefieldBoard.getCols()][cell % minefieldBoard.getCols()];
+            }
+            checkGameOver(hitMine);
+            gameOverReveal = minefieldBoard.getLastChanges();
+        });
+    }
+
+    /**
+     * Puts the grid back into play after the move that ended the game has been undone.
+     */
+    private void resumeAfterGameOver() {
+        gameOver = false;
+        leftStarsBox.getChildren().clear();
+        rightStarsBox.getChildren().clear();
+        setStatusLabel("/images/minesweeper_default.png");
+        dirtyCells.clear();
+        for (int r = 0; r < minefieldBoard.getRows(); r++) {
+            for (int c = 0; c < minefieldBoard.getCols(); c++) {
+                Button cellButton = getCellButton(r, c);
+                cellButton.setDisable(false);
+                cellButton.setGraphic(null);
+                cellButton.setStyle("-fx-text-fill: black; -fx-font-size: 20px;");
+                this.updateCell(r, c);
+            }
+        }
+
+        // stopTimer() unbound the label when the game was lost; the next click restarts the timeline
+        timerLabel.textProperty().bind(Bindings.createStringBinding(() ->
+                "Time: " + formatTime(secondsPassed.get()), secondsPassed));
+    }
+
+    private void handleChord(int row, int col) {
+        if (gameOver) {
+            return;
+        }
+        boolean hitMine = minefieldBoard.chord(row, col);
+        replay.record(GameReplay.Move.CHORD, row, col, minefieldBoard);
+        dirtyCells.or(minefieldBoard.getLastRevealedCells());
+        recordMove(hitMine);
+    }
+
+    private void checkGameOver(boolean hitMine) {
+        // win/lose conditions
+        if (hitMine || minefieldBoard.getLegalCells().isEmpty()) {
+            // the whole grid is redrawn below, and moves queued behind this one no longer apply
+            discardPendingMoves();
+            gameOver = true;
+            stopTimer();
+            if (hitMine) {
+                setStatusLabel("/images/minesweeper_loss.png");
+            }
+            else {
+                setStatusLabel("/images/minesweeper_win.png");
+
+                int starsToDisplay = minefieldBoard.getHighestNeighbor();
+                displayWinStars(starsToDisplay);
+                // a game won after taking a move back is practice and stays out of the records
+                if (!history.wasUndoUsed()) {
+                    saveFinishedGameResult();
+                }
+            }
+            // Load the image outside the loop
+            String mineImage = (hitMine) ? "/images/mine.png" : "/images/flag.png";
+            Button cellButton;
+
+            BitSet mines = minefieldBoard.getMineCache();
+            for (int mine = mines.nextSetBit(0); mine >= 0; mine = mines.nextSetBit(mine + 1)) {
+                int rMine = mine / minefieldBoard.getCols();
+                int cMine = mine % minefieldBoard.getCols();
+
+                if (minefieldBoard.getBoard()[rMine][cMine].getState() == CellState.FLAGGED) {
+                    continue;
+                }
+
+                minefieldBoard.setCellState(rMine, cMine, CellState.UNCOVERED);
+                cellButton = getCellButton(rMine, cMine);
+
+                // Set the button graphic to the ImageView with the mine image
+                ImageView individualMineImageView = getImage(mineImage, (int) cellButton.getWidth(), (int) cellButton.getHeight());
+
+                cellButton.setGraphic(individualMineImageView);
+                cellButton.setPadding(Insets.EMPTY);
+                cellButton.setStyle("-fx-background-color: transparent;");
+            }
+
+            minefieldBoard.updateCellCoverageCache();
+            for (int r = 0; r < minefieldBoard.getRows(); r++) {
+                for (int c = 0; c < minefieldBoard.getCols(); c++) {
+                    this.updateCell(r, c);
+                    cellButton = getCellButton(r, c);
+                    cellButton.setDisable(true);
+                }
+            }
+
+            // change flagged wrong cells to misflag.png picture
+            BitSet misflagged = (BitSet) minefieldBoard.getFlaggedCells().clone();
+            misflagged.andNot(mines);
+            for (int index = misflagged.nextSetBit(0); index >= 0; index = misflagged.nextSetBit(index + 1)) {
+                int rFlagged = index / minefieldBoard.getCols();
+                int cFlagged = index % minefieldBoard.getCols();
+                minefieldBoard.setCellState(rFlagged, cFlagged, CellState.UNCOVERED);
+                cellButton = (Button) minesweeperGrid.getChildren().get(index);
+                ImageView misflagImageView = getImage("/images/misflag.png", (int) cellButton.getWidth(), (int) cellButton.getHeight());
+
+                cellButton.setGraphic(misflagImageView);
+                cellButton.setPadding(Insets.EMPTY);
+                cellButton.setStyle("-fx-background-color: transparent;");
+            }
+        }
+    }
+
+    private void saveFinishedGameResult() {
+        LocalDateTime dateTime = LocalDateTime.now();
+        finishedGamesLog.append(logger.saveGame(minefieldBoard, secondsPassed.get(), dateTime));
+        finishedGamesBinaryLog.append(logger.saveGameBinary(minefieldBoard, secondsPassed.get(), dateTime));
+        finishedGamesReplayLog.append(logger.saveReplay(replay));
+    }
+
+    private void updateCell(int row, int col) {
+        long start = System.nanoTime();
+        try {
+            this.updateCellButton(row, col);
+        } finally {
+            UPDATE_CELL_TIME.recordSince(start);
+        }
+    }
+
+    private void updateCellButton(int row, int col) {
+        // Here, update the button based on the state of the cell.
+
+        Button cellButton = getCellButton(row, col);
+        // the same view serves every cell drawn until the board changes again
+        BoardView view = minefieldBoard.view();
+        CellState state = view.getState(row, col);
+
+        // Logic to update the button text and style based on the cell state
+        if (state == CellState.UNCOVERED) {
+            int rawCellValue = view.getValue(row, col);
+
+            if (rawCellValue == CellValue.EMPTY.getValue()) {
+                ImageView emptyImageView = getImage("/images/empty_alt_border.png", (int) cellButton.getWidth(), (int) cellButton.getHeight());
+                cellButton.setText("");
+                cellButton.setGraphic(emptyImageView);
+                cellButton.setPadding(Insets.EMPTY);
+                cellButton.setStyle("-fx-background-color: transparent;");
+
+            } else {
+                Color textColor = numberColorMapping.getOrDefault(rawCellValue, Color.BLACK);
+                String colorStyle = String.format("-fx-text-fill: #%02X%02X%02X; -fx-font-size: 20px;",
+                        (int) (textColor.getRed() * 255),
+                        (int) (textColor.getGreen() * 255),
+                        (int) (textColor.getBlue() * 255));
+
+                cellButton.setStyle(colorStyle);
+                cellButton.setText(asciiMapping.get(Integer.toString(rawCellValue)));
+                cellButton.setDisable(true);
+            }
+        } else if (state == CellState.COVERED) {
+
+            if (showProbabilities && cellProbabilities != null) {
+                float cellProbability = cellProbabilities[row][col];
+
+                // Calculate the color based on the probability
+                // Green component goes down as the probability increases
+                // Red component goes up as the probability increases
+                int red = (int) (255 * cellProbability);
+                int green = 255 - red;
+                String colorStyle = String.format("-fx-text-fill: rgb(%d,%d,0); -fx-font-size: 12px; -fx-font-weight:bolder;",
+                        red, green);
+
+                cellButton.setText(String.format("%.2f", cellProbability));
+                cellButton.setStyle(colorStyle);
+            } else {
+                cellButton.setText("");
+                cellButton.setStyle("-fx-text-fill: black; -fx-font-size: 20px;");
+            }
+
+            cellButton.setDisable(false);
+            cellButton.setGraphic(null);
+
+
+        } else if (state == CellState.FLAGGED) {
+            ImageView flagImageView = getImage("/images/flag.png", (int) cellButton.getWidth(), (int) cellButton.getHeight());
+            cellButton.setGraphic(flagImageView);
+            cellButton.setPadding(Insets.EMPTY);
+            cellButton.setText("");
+            cellButton.setStyle("-fx-background-color: transparent;");
+
+        }
+
+        this.minesLabel.setText("Mines: " + Math.max(0, minefieldBoard.getNumMines() - minefieldBoard.getFlaggedCells().cardinality()));
+    }
+}
+
+
+
+
+
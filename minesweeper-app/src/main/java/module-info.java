@@ -0,0 +1,9 @@
+module com.cameronterry.minesweeper {
+    requires javafx.controls;
+    requires javafx.fxml;
+    requires com.cameronterry.minesweeper.core;
+
+
+    opens com.cameronterry.minesweeper.app to javafx.fxml;
+    exports com.cameronterry.minesweeper.app;
+}
@@ -0,0 +1,152 @@
+package com.cameronterry.minesweeper.cli;
+
+import com.cameronterry.minesweeper.GameServer;
+import com.cameronterry.minesweeper.GameServerSocket;
+import com.cameronterry.minesweeper.Metrics;
+import com.cameronterry.minesweeper.MinefieldBoard;
+import com.cameronterry.minesweeper.MinefieldSolver;
+import com.cameronterry.minesweeper.NoGuessGenerator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * MinesweeperCli: Headless runner for batch simulation and benchmarking, without JavaFX.
+ * <p>
+ * {@code simulate} plays every game with the MinefieldSolver, always uncovering the covered cell
+ * least likely to hold a mine, and reports the win rate. {@code generate} only builds boards.
+ * Both print the timings collected in Metrics when they are done. {@code serve} hosts games for
+ * clients on a loopback port with GameServerSocket until the process is stopped.
+ */
+public class MinesweeperCli {
+    private static final String USAGE = """
+            Usage: MinesweeperCli simulate <rows> <cols> <mines> <games> [--no-guess] [--seed <seed>]
+                   MinesweeperCli generate <rows> <cols> <mines> <boards> [--no-guess] [--seed <seed>]
+                   MinesweeperCli serve [--port <port>] [--idle-seconds <seconds>] [--snapshots <directory>]""";
+
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("serve")) {
+            serve(args);
+            return;
+        }
+        List<String> positional = new ArrayList<>();
+        boolean noGuess = false;
+        long seed = new Random().nextLong();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--no-guess")) {
+                noGuess = true;
+            } else if (args[i].equals("--seed") && i + 1 < args.length) {
+                seed = Long.parseLong(args[++i]);
+            } else {
+                positional.add(args[i]);
+            }
+        }
+        if (positional.size() != 5) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+
+        int rows = Integer.parseInt(positional.get(1));
+        int cols = Integer.parseInt(positional.get(2));
+        int mines = Integer.parseInt(positional.get(3));
+        int count = Integer.parseInt(positional.get(4));
+        Random seeds = new Random(seed);
+
+        long start = System.nanoTime();
+        switch (positional.get(0)) {
+            case "simulate" -> {
+                int wins = 0;
+                long moves = 0;
+                for (int i = 0; i < count; i++) {
+                    MinefieldBoard board = newBoard(rows, cols, mines, noGuess, seeds.nextLong());
+                    int gameMoves = play(board);
+                    if (gameMoves > 0) {
+                        wins++;
+                    }
+                    moves += Math.abs(gameMoves);
+                }
+                System.out.printf("games=%d wins=%d winRate=%.1f%% movesPerGame=%.1f%n", count, wins,
+                        100.0 * wins / Math.max(1, count), (double) moves / Math.max(1, count));
+            }
+            case "generate" -> {
+                for (int i = 0; i < count; i++) {
+                    newBoard(rows, cols, mines, noGuess, seeds.nextLong());
+                }
+                System.out.printf("boards=%d%n", count);
+            }
+            default -> {
+                System.err.println(USAGE);
+                System.exit(1);
+            }
+        }
+        System.out.printf("seed=%d elapsed=%.1f ms%n%n", seed, (System.nanoTime() - start) / 1e6);
+        System.out.print(Metrics.format());
+    }
+
+    private static void serve(String[] args) {
+        int port = 7878;
+        int idleSeconds = 60;
+        Path snapshots = Path.of("server_snapshots");
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[i + 1]);
+                case "--idle-seconds" -> idleSeconds = Integer.parseInt(args[i + 1]);
+                case "--snapshots" -> snapshots = Path.of(args[i + 1]);
+                default -> {
+                    System.err.println(USAGE);
+                    System.exit(1);
+                }
+            }
+        }
+
+        try {
+            GameServer server = new GameServer(snapshots, Duration.ofSeconds(idleSeconds));
+            GameServerSocket socket = new GameServerSocket(server, port);
+            System.out.printf("listening on 127.0.0.1:%d, idle sessions go to %s after %d s%n",
+                    socket.getPort(), snapshots.toAbsolutePath(), idleSeconds);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+                server.close();
+                System.out.print(Metrics.format());
+            }));
+            Thread.currentThread().join();
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(1);
+        } catch (InterruptedException e) {
+            // stopped
+        }
+    }
+
+    private static MinefieldBoard newBoard(int rows, int cols, int mines, boolean noGuess, long seed) {
+        if (noGuess) {
+            return NoGuessGenerator.generate(rows, cols, mines, seed)
+                    .orElseGet(() -> new MinefieldBoard(rows, cols, mines, seed));
+        }
+        return new MinefieldBoard(rows, cols, mines, seed);
+    }
+
+    /**
+     * Plays a board to the end; the number of moves made, negated if the game was lost.
+     */
+    static int play(MinefieldBoard board) {
+        MinefieldSolver solver = new MinefieldSolver(board);
+        int moves = 0;
+        while (!board.getLegalCells().isEmpty()) {
+            int[] cell = solver.safestCell(board);
+            moves++;
+            if (board.uncover(cell[0], cell[1])) {
+                return -moves;
+            }
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,5 @@
+module com.cameronterry.minesweeper.cli {
+    requires com.cameronterry.minesweeper.core;
+
+    exports com.cameronterry.minesweeper.cli;
+}
@@ -0,0 +1,190 @@
+package com.cameronterry.minesweeper;
+
+/**
+ * Bitboard: A set of cells packed one bit per cell, each board row starting on a fresh long.
+ * <p>
+ * Whole-board operations work on 64 cells at a time. The eight neighbor masks of a row are the
+ * rows above and below as they are, plus all three rows shifted one column each way; adding
+ * them with a bit-sliced counter (one long per bit of the count) gives every cell's neighbor
+ * count in a handful of word operations instead of eight lookups per cell. Bits past the last
+ * column are always kept clear, so shifts never leak cells from one row into the next.
+ * <p>
+ * Cells are addressed by the same row-major index as {@link MinefieldBoard#cellIndex}.
+ */
+final class Bitboard {
+    private final int rows, cols, wordsPerRow;
+    private final long lastWordMask;
+    private final long[] words;
+
+    Bitboard(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.wordsPerRow = (cols + 63) >>> 6;
+        this.lastWordMask = (cols & 63) == 0 ? -1L : (1L << (cols & 63)) - 1;
+        this.words = new long[rows * this.wordsPerRow];
+    }
+
+    static Bitboard of(boolean[][] cells) {
+        Bitboard bitboard = new Bitboard(cells.length, cells[0].length);
+        for (int r = 0; r < bitboard.rows; r++) {
+            for (int c = 0; c < bitboard.cols; c++) {
+                if (cells[r][c]) {
+                    bitboard.words[r * bitboard.wordsPerRow + (c >>> 6)] |= 1L << c;
+                }
+            }
+        }
+        return bitboard;
+    }
+
+    /**
+     * Covered cells next to at least one uncovered cell: the cells the uncovered numbers say something about.
+     */
+    static Bitboard frontier(Bitboard covered, Bitboard uncovered) {
+        return covered.and(uncovered.neighbors());
+    }
+
+    /**
+     * Uncovered cells next to at least one covered cell: the numbers that still constrain the frontier.
+     */
+    static Bitboard constraints(Bitboard covered, Bitboard uncovered) {
+        return uncovered.and(covered.neighbors());
+    }
+
+    boolean get(int cell) {
+        int row = cell / this.cols, col = cell % this.cols;
+        return (this.words[row * this.wordsPerRow + (col >>> 6)] & 1L << col) != 0;
+    }
+
+    void set(int cell) {
+        int row = cell / this.cols, col = cell % this.cols;
+        this.words[row * this.wordsPerRow + (col >>> 6)] |= 1L << col;
+    }
+
+    void clear(int cell) {
+        int row = cell / this.cols, col = cell % this.cols;
+        this.words[row * this.wordsPerRow + (col >>> 6)] &= ~(1L << col);
+    }
+
+    int cardinality() {
+        int count = 0;
+        for (long word : this.words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * The first set cell at or after the given index, or -1 if there is none.
+     */
+    int nextSetBit(int from) {
+        if (from >= this.rows * this.cols) {
+            return -1;
+        }
+        int row = from / this.cols;
+        int i = row * this.wordsPerRow + ((from % this.cols) >>> 6);
+        long word = this.words[i] & -1L << from % this.cols;
+        while (true) {
+            if (word != 0) {
+                int wordInRow = i % this.wordsPerRow;
+                return (i / this.wordsPerRow) * this.cols + (wordInRow << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++i == this.words.length) {
+                return -1;
+            }
+            word = this.words[i];
+        }
+    }
+
+    Bitboard and(Bitboard other) {
+        Bitboard result = new Bitboard(this.rows, this.cols);
+        for (int i = 0; i < this.words.length; i++) {
+            result.words[i] = this.words[i] & other.words[i];
+        }
+        return result;
+    }
+
+    /**
+     * Cells with at least one of their eight neighbors in this set.
+     */
+    Bitboard neighbors() {
+        Bitboard result = new Bitboard(this.rows, this.cols);
+        for (int r = 0; r < this.rows; r++) {
+            for (int w = 0; w < this.wordsPerRow; w++) {
+                long above = this.spread(r - 1, w, true);
+                long row = this.spread(r, w, false);
+                long below = this.spread(r + 1, w, true);
+                result.words[r * this.wordsPerRow + w] = (above | row | below) & this.wordMask(w);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * For every cell, how many of its eight neighbors are in this set.
+     */
+    int[][] neighborCounts() {
+        int[][] counts = new int[this.rows][this.cols];
+        for (int r = 0; r < this.rows; r++) {
+            for (int w = 0; w < this.wordsPerRow; w++) {
+                // bit planes of the count: ones, twos, fours and eights
+                long ones = 0, twos = 0, fours = 0, eights = 0;
+                for (int dr = -1; dr <= 1; dr++) {
+                    long center = this.word(r + dr, w);
+                    long west = center << 1 | this.word(r + dr, w - 1) >>> 63;
+                    long east = center >>> 1 | this.word(r + dr, w + 1) << 63;
+                    for (int k = 0; k < 3; k++) {
+                        if (dr == 0 && k == 1) {
+                            // a cell is not its own neighbor
+                            continue;
+                        }
+                        long mask = k == 0 ? west : k == 1 ? center : east;
+                        long carry = ones & mask;
+                        ones ^= mask;
+                        long carry2 = twos & carry;
+                        twos ^= carry;
+                        eights |= fours & carry2;
+                        fours ^= carry2;
+                    }
+                }
+
+                int base = w << 6;
+                int end = Math.min(64, this.cols - base);
+                for (int bit = 0; bit < end; bit++) {
+                    counts[r][base + bit] = (int) ((ones >>> bit & 1) | (twos >>> bit & 1) << 1
+                            | (fours >>> bit & 1) << 2 | (eights >>> bit & 1) << 3);
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * One flag per cell in row-major order.
+     */
+    boolean[] toArray() {
+        boolean[] cells = new boolean[this.rows * this.cols];
+        for (int cell = this.nextSetBit(0); cell >= 0; cell = this.nextSetBit(cell + 1)) {
+            cells[cell] = true;
+        }
+        return cells;
+    }
+
+    // a row's word shifted one column each way, OR-ed together, and with the word itself if asked
+    private long spread(int row, int w, boolean withCenter) {
+        long center = this.word(row, w);
+        long west = center << 1 | this.word(row, w - 1) >>> 63;
+        long east = center >>> 1 | this.word(row, w + 1) << 63;
+        return withCenter ? west | center | east : west | east;
+    }
+
+    private long word(int row, int w) {
+        if (row < 0 || row >= this.rows || w < 0 || w >= this.wordsPerRow) {
+            return 0;
+        }
+        return this.words[row * this.wordsPerRow + w];
+    }
+
+    private long wordMask(int w) {
+        return w == this.wordsPerRow - 1 ? this.lastWordMask : -1L;
+    }
+}
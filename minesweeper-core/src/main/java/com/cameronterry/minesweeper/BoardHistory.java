@@ -0,0 +1,87 @@
+package com.cameronterry.minesweeper;
+
+import java.util.ArrayDeque;
+
+/**
+ * BoardHistory: Unlimited undo and redo for a MinefieldBoard.
+ * <p>
+ * Every move is kept as the list of cells it changed, never as a copy of the board, so a move
+ * costs memory in proportion to the cells it touched: a flag is one int, a flood fill one int per
+ * revealed cell. Each change is packed as {@code cellIndex << 4 | before << 2 | after}, using the
+ * CellState ordinals.
+ */
+public class BoardHistory {
+    private final ArrayDeque<int[]> undoStack = new ArrayDeque<>();
+    private final ArrayDeque<int[]> redoStack = new ArrayDeque<>();
+    private boolean undoUsed = false;
+
+    static int change(int cellIndex, CellState before, CellState after) {
+        return cellIndex << 4 | before.ordinal() << 2 | after.ordinal();
+    }
+
+    public static int cell(int change) {
+        return change >>> 4;
+    }
+
+    static int before(int change) {
+        return (change >> 2) & 3;
+    }
+
+    public static int after(int change) {
+        return change & 3;
+    }
+
+    /**
+     * Records the changes of a move just made; a new move drops everything that could be redone.
+     */
+    public void record(int[] delta) {
+        if (delta.length == 0) {
+            return;
+        }
+        this.undoStack.push(delta);
+        this.redoStack.clear();
+    }
+
+    public boolean canUndo() {
+        return !this.undoStack.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return !this.redoStack.isEmpty();
+    }
+
+    /**
+     * Reverts the last move on the board and returns its changes.
+     */
+    public int[] undo(MinefieldBoard board) {
+        int[] delta = this.undoStack.pop();
+        board.applyChanges(delta, true);
+        this.redoStack.push(delta);
+        this.undoUsed = true;
+        return delta;
+    }
+
+    /**
+     * Reapplies the last undone move on the board and returns its changes.
+     */
+    public int[] redo(MinefieldBoard board) {
+        int[] delta = this.redoStack.pop();
+        board.applyChanges(delta, false);
+        this.undoStack.push(delta);
+        return delta;
+    }
+
+    /**
+     * Whether a move has been taken back since the last clear; such a game is practice and its
+     * result is not logged.
+     */
+    public boolean wasUndoUsed() {
+        return this.undoUsed;
+    }
+
+    public void clear() {
+        this.undoStack.clear();
+        this.redoStack.clear();
+        this.undoUsed = false;
+    }
+}
@@ -0,0 +1,123 @@
+package com.cameronterry.minesweeper;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * BoardPool: Ready-made boards per configuration, refilled by a background thread.
+ * <p>
+ * The beginner, intermediate and expert configurations are always kept filled, in both regular and
+ * no-guess mode, along with the last custom configuration asked for. Taking a board only falls back
+ * to generating on the caller's thread when the pool for that configuration has run dry.
+ * No-guess boards are dealt from the LayoutCache while it has layouts for the configuration. Taking
+ * a cached layout uses it up for good, so the cache is only read when a board is handed out; the
+ * pool itself is always filled with freshly generated boards.
+ */
+public class BoardPool implements Closeable {
+    record Configuration(int rows, int cols, int numMines, boolean noGuess) {
+        // the same size scaling as MinefieldBoard, so that equivalent requests share a pool
+        static Configuration of(int rows, int cols, int numMines, boolean noGuess) {
+            int scaledRows = MinefieldBoard.scaleSide(rows);
+            int scaledCols = MinefieldBoard.scaleSide(cols);
+            return new Configuration(scaledRows, scaledCols,
+                    MinefieldBoard.scaleMines(numMines, scaledRows, scaledCols), noGuess);
+        }
+    }
+
+    static final int BOARDS_PER_CONFIGURATION = 3;
+
+    static final List<Configuration> PRESETS = List.of(
+            Configuration.of(9, 9, 10, false), Configuration.of(16, 16, 40, false), Configuration.of(16, 30, 99, false),
+            Configuration.of(9, 9, 10, true), Configuration.of(16, 16, 40, true), Configuration.of(16, 30, 99, true));
+
+    private final Map<Configuration, LinkedBlockingQueue<MinefieldBoard>> pools = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<Configuration> refills = new LinkedBlockingQueue<>();
+    private final Thread refiller;
+    private final LayoutCache layoutCache;
+    private volatile Configuration lastCustom;
+
+    public BoardPool() {
+        this(LayoutCache.open(LayoutCache.DEFAULT_FILE));
+    }
+
+    BoardPool(LayoutCache layoutCache) {
+        this.layoutCache = layoutCache;
+        for (Configuration configuration : PRESETS) {
+            this.pools.put(configuration, new LinkedBlockingQueue<>());
+        }
+        this.refills.addAll(PRESETS);
+
+        this.refiller = new Thread(this::run, "board-pool-refill");
+        this.refiller.setDaemon(true);
+        this.refiller.setPriority(Thread.MIN_PRIORITY);
+        this.refiller.start();
+    }
+
+    /**
+     * A fresh board for the configuration, from the pool when one is ready.
+     * No-guess boards come with their opening uncovered.
+     */
+    public MinefieldBoard take(int rows, int cols, int numMines, boolean noGuess) {
+        Configuration configuration = Configuration.of(rows, cols, numMines, noGuess);
+        LinkedBlockingQueue<MinefieldBoard> pool = this.pools.get(configuration);
+        if (pool == null) {
+            // a new custom configuration replaces the previous one
+            Configuration previous = this.lastCustom;
+            if (previous != null && !previous.equals(configuration)) {
+                this.pools.remove(previous);
+            }
+            this.lastCustom = configuration;
+            pool = this.pools.computeIfAbsent(configuration, k -> new LinkedBlockingQueue<>());
+        }
+
+        if (noGuess) {
+            Optional<MinefieldBoard> cached = this.layoutCache.take(configuration.rows(), configuration.cols(), configuration.numMines());
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+
+        MinefieldBoard board = pool.poll();
+        this.refills.add(configuration);
+        return board != null ? board : generate(configuration);
+    }
+
+    int available(int rows, int cols, int numMines, boolean noGuess) {
+        LinkedBlockingQueue<MinefieldBoard> pool = this.pools.get(Configuration.of(rows, cols, numMines, noGuess));
+        return pool == null ? 0 : pool.size();
+    }
+
+    @Override
+    public void close() {
+        this.refiller.interrupt();
+        this.layoutCache.close();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Configuration configuration = this.refills.take();
+                LinkedBlockingQueue<MinefieldBoard> pool;
+                // the pool may be dropped meanwhile when it belonged to an old custom configuration
+                while ((pool = this.pools.get(configuration)) != null && pool.size() < BOARDS_PER_CONFIGURATION) {
+                    pool.add(generate(configuration));
+                }
+            }
+        } catch (InterruptedException e) {
+            // closed
+        }
+    }
+
+    private static MinefieldBoard generate(Configuration configuration) {
+        if (configuration.noGuess()) {
+            // falls back to a regular board when the mine density leaves no no-guess layouts
+            return NoGuessGenerator.generate(configuration.rows(), configuration.cols(), configuration.numMines())
+                    .orElseGet(() -> new MinefieldBoard(configuration.rows(), configuration.cols(), configuration.numMines()));
+        }
+        return new MinefieldBoard(configuration.rows(), configuration.cols(), configuration.numMines());
+    }
+}
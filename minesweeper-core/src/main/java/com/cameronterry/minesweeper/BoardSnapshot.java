@@ -0,0 +1,122 @@
+package com.cameronterry.minesweeper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * BoardSnapshot: An in-progress game packed into a compact byte buffer.
+ * <p>
+ * Layout (integers are unsigned varints unless noted):
+ * <pre>
+ *   version (1 byte) | rows | cols | numMines | elapsedSeconds | seed (8 bytes)
+ *   mine layout bits | cell states, 2 bits per cell (0 covered, 1 uncovered, 2 flagged)
+ * </pre>
+ * Restoring rebuilds the board from the layout in O(cells) without generating anything.
+ */
+public record BoardSnapshot(MinefieldBoard board, int elapsedSeconds) {
+    static final int VERSION = 1;
+
+    private static final Metrics.Histogram SAVE_TIME = Metrics.histogram("log.saveGame");
+    private static final Metrics.Histogram LOAD_TIME = Metrics.histogram("log.loadGame");
+
+    /**
+     * Writes snapshot bytes from toBytes to a file, replacing its contents. The bytes are taken
+     * on the thread that owns the board, so the write itself can happen on any thread.
+     */
+    public static void save(byte[] bytes, Path path) throws IOException {
+        GameEvents.LogIO event = new GameEvents.LogIO();
+        event.begin();
+        long start = System.nanoTime();
+        Files.write(path, bytes);
+        SAVE_TIME.recordSince(start);
+        commitLogIO(event, path, "saveSnapshot", bytes.length);
+    }
+
+    public static BoardSnapshot load(Path path) throws IOException {
+        GameEvents.LogIO event = new GameEvents.LogIO();
+        event.begin();
+        long start = System.nanoTime();
+        byte[] bytes = Files.readAllBytes(path);
+        BoardSnapshot snapshot = fromBytes(bytes);
+        LOAD_TIME.recordSince(start);
+        commitLogIO(event, path, "loadSnapshot", bytes.length);
+        return snapshot;
+    }
+
+    private static void commitLogIO(GameEvents.LogIO event, Path path, String operation, int bytes) {
+        if (event.shouldCommit()) {
+            event.file = path.toString();
+            event.operation = operation;
+            event.records = 1;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    public byte[] toBytes() {
+        int rows = this.board.getRows();
+        int cols = this.board.getCols();
+        int cells = rows * cols;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 + GameRecordCodec.bitSetLength(cells) * 3);
+
+        out.write(VERSION);
+        GameRecordCodec.writeVarInt(out, rows);
+        GameRecordCodec.writeVarInt(out, cols);
+        GameRecordCodec.writeVarInt(out, this.board.getNumMines());
+        GameRecordCodec.writeVarInt(out, this.elapsedSeconds);
+        out.writeBytes(ByteBuffer.allocate(Long.BYTES).putLong(this.board.getSeed()).array());
+
+        byte[] mineBits = new byte[GameRecordCodec.bitSetLength(cells)];
+        byte[] stateBits = new byte[GameRecordCodec.bitSetLength(cells * 2)];
+        boolean[][] mines = this.board.getMines();
+        Cell[][] cellBoard = this.board.getBoard();
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int index = r * cols + c;
+                if (mines[r][c]) {
+                    mineBits[index >> 3] |= (byte) (1 << (index & 7));
+                }
+                int state = cellBoard[r][c].getState().ordinal();
+                stateBits[index >> 2] |= (byte) (state << ((index & 3) * 2));
+            }
+        }
+        out.writeBytes(mineBits);
+        out.writeBytes(stateBits);
+
+        return out.toByteArray();
+    }
+
+    static BoardSnapshot fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported board snapshot version: " + version);
+        }
+
+        int rows = GameRecordCodec.readVarInt(buffer);
+        int cols = GameRecordCodec.readVarInt(buffer);
+        int numMines = GameRecordCodec.readVarInt(buffer);
+        int elapsedSeconds = GameRecordCodec.readVarInt(buffer);
+        long seed = buffer.getLong();
+
+        int cells = rows * cols;
+        int mineOffset = buffer.position();
+        int stateOffset = mineOffset + GameRecordCodec.bitSetLength(cells);
+        CellState[] cellStates = CellState.values();
+
+        boolean[][] mines = new boolean[rows][cols];
+        CellState[][] states = new CellState[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int index = r * cols + c;
+                mines[r][c] = (buffer.get(mineOffset + (index >> 3)) & (1 << (index & 7))) != 0;
+                states[r][c] = cellStates[(buffer.get(stateOffset + (index >> 2)) >> ((index & 3) * 2)) & 3];
+            }
+        }
+
+        return new BoardSnapshot(MinefieldBoard.restore(numMines, seed, mines, states), elapsedSeconds);
+    }
+}
@@ -0,0 +1,92 @@
+package com.cameronterry.minesweeper;
+
+/**
+ * BoardView: An immutable copy of a board's cells at one version, safe to read from any thread.
+ * <p>
+ * Views are taken with MinefieldBoard.view() on the thread that owns the board and can then be
+ * handed to a solver, a statistics task or the renderer while the game carries on. The board
+ * keeps returning the same view until one of its cells changes, so taking a view after every
+ * move copies the cells at most once per move. A newer version means a later state of the same
+ * board, which lets a reader drop results computed from a view that is out of date.
+ */
+public final class BoardView {
+    private static final CellState[] STATES = CellState.values();
+
+    private final long version;
+    private final int rows, cols, numMines;
+    // per cell index: CellState ordinal, and raw CellValue (-1 for a mine)
+    private final byte[] states;
+    private final byte[] values;
+
+    BoardView(long version, int rows, int cols, int numMines, byte[] states, byte[] values) {
+        this.version = version;
+        this.rows = rows;
+        this.cols = cols;
+        this.numMines = numMines;
+        this.states = states;
+        this.values = values;
+    }
+
+    public long getVersion() {
+        return this.version;
+    }
+
+    public int getRows() {
+        return this.rows;
+    }
+
+    public int getCols() {
+        return this.cols;
+    }
+
+    public int getNumMines() {
+        return this.numMines;
+    }
+
+    public CellState getState(int row, int col) {
+        return STATES[this.states[row * this.cols + col]];
+    }
+
+    public int getValue(int row, int col) {
+        return this.values[row * this.cols + col];
+    }
+
+    public boolean outOfBounds(int r, int c) {
+        return Math.min(r, c) < 0 || r >= this.rows || c >= this.cols;
+    }
+
+    public int count(CellState state) {
+        int count = 0;
+        for (byte cellState : this.states) {
+            if (cellState == state.ordinal()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Whether every safe cell is uncovered, as for an empty MinefieldBoard.getLegalCells().
+     */
+    public boolean isCleared() {
+        for (int cell = 0; cell < this.states.length; cell++) {
+            if (this.states[cell] != CellState.UNCOVERED.ordinal() && this.values[cell] != CellValue.MINE.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The cells currently in the given state.
+     */
+    Bitboard cells(CellState state) {
+        Bitboard bitboard = new Bitboard(this.rows, this.cols);
+        for (int cell = 0; cell < this.states.length; cell++) {
+            if (this.states[cell] == state.ordinal()) {
+                bitboard.set(cell);
+            }
+        }
+        return bitboard;
+    }
+}
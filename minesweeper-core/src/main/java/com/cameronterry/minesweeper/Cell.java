@@ -0,0 +1,37 @@
+package com.cameronterry.minesweeper;
+
+/**
+ * Cell: Class representing a cell in the minefield.
+ * <p>
+ * A cell has a state CellState and a value CellValue.
+ */
+public class Cell {
+    public Cell(CellState state, CellValue value) {
+        this.state = state;
+        this.value = value;
+    }
+
+    public CellState getState() {
+        return this.state;
+    }
+
+    public CellValue getValue() {
+        return this.value;
+    }
+
+    void setState(CellState state) {
+        this.state = state;
+    }
+
+    void setValue(CellValue value) {
+        this.value = value;
+    }
+
+    void setCell(CellState state, CellValue value) {
+        this.state = state;
+        this.value = value;
+    }
+
+    private CellState state;
+    private CellValue value;
+}
@@ -0,0 +1,14 @@
+package com.cameronterry.minesweeper;
+
+/**
+ * CellState: Enum for the state of a cell.
+ * <p>
+ * Can be: COVERED, UNCOVERED, or FLAGGED
+ */
+public enum CellState {
+    COVERED, UNCOVERED, FLAGGED;
+
+    CellState() {
+    }
+
+}
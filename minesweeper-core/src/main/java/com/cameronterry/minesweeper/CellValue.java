@@ -0,0 +1,23 @@
+package com.cameronterry.minesweeper;
+
+/**
+ * CellValue: Enum for the value of a cell.
+ * Represents the number of mines in the 8 adjacent cells.
+ * <p>
+ * Can be: MINE, EMPTY, ONE, TWO, THREE, FOUR, FIVE, SIX, SEVEN, or EIGHT
+ */
+public enum CellValue {
+    MINE(-1), EMPTY(0), ONE(1),
+    TWO(2), THREE(3), FOUR(4),
+    FIVE(5), SIX(6), SEVEN(7), EIGHT(8);
+
+    CellValue(final int v) {
+        this.value = v;
+    }
+
+    public int getValue() {
+        return this.value;
+    }
+
+    private final int value;
+}
@@ -0,0 +1,272 @@
+package com.cameronterry.minesweeper;
+
+/**
+ * DeductionSolver: Plays a mine layout from a starting cell using only sound deductions.
+ * <p>
+ * Three rules are applied until the board is cleared or none of them makes progress:
+ * <ul>
+ *   <li>a number whose mines are all known clears its other covered neighbors, and a number with
+ *   as many covered neighbors as missing mines marks them all as mines;</li>
+ *   <li>for two nearby numbers whose covered neighbors are a subset of one another, the cells only
+ *   the larger set has hold exactly the difference of their missing mines;</li>
+ *   <li>once every mine is known, all remaining covered cells are safe.</li>
+ * </ul>
+ * A layout this solver clears can be played from the start cell without ever guessing.
+ */
+class DeductionSolver {
+    private static final byte UNKNOWN = 0, REVEALED = 1, MINE = 2;
+
+    private final int rows, cols, numMines;
+    private final boolean[] mines;
+    private final int[] values;
+    private final byte[] state;
+    // the UNKNOWN and REVEALED cells of state, kept in step so the numbers still worth checking
+    // can be found a word at a time
+    private final Bitboard unknown, revealedCells;
+    private final int[] stack;
+    private int revealed = 0;
+    private int knownMines = 0;
+    // rule applications that made progress, for the SolverRun event
+    private int deductions = 0;
+
+    DeductionSolver(boolean[][] mines, int numMines) {
+        this.rows = mines.length;
+        this.cols = mines[0].length;
+        this.numMines = numMines;
+        this.mines = new boolean[this.rows * this.cols];
+        this.values = new int[this.rows * this.cols];
+        this.state = new byte[this.rows * this.cols];
+        this.stack = new int[this.rows * this.cols];
+        this.unknown = new Bitboard(this.rows, this.cols);
+        this.revealedCells = new Bitboard(this.rows, this.cols);
+
+        int[][] neighborValues = GameRecordCodec.neighborValues(mines);
+        for (int r = 0; r < this.rows; r++) {
+            for (int c = 0; c < this.cols; c++) {
+                this.mines[r * this.cols + c] = mines[r][c];
+                this.values[r * this.cols + c] = neighborValues[r][c];
+                this.unknown.set(r * this.cols + c);
+            }
+        }
+    }
+
+    /**
+     * Whether the whole board can be cleared from the given cell (row-major index) without guessing.
+     */
+    boolean solve(int start) {
+        GameEvents.SolverRun event = new GameEvents.SolverRun();
+        event.begin();
+        boolean solved = this.deduce(start);
+
+        if (event.shouldCommit()) {
+            event.solver = "DeductionSolver";
+            // what is left of the frontier once the solver stops; empty for a solved board
+            event.setFrontier(Bitboard.frontier(this.unknown, this.revealedCells).toArray(), this.rows, this.cols);
+            event.deductions = this.deductions;
+            event.solved = solved;
+            event.commit();
+        }
+        return solved;
+    }
+
+    private boolean deduce(int start) {
+        if (this.mines[start]) {
+            return false;
+        }
+        this.reveal(start);
+
+        int safeCells = this.mines.length - this.numMines;
+        while (this.revealed < safeCells) {
+            if (!this.applyNumberRule() && !this.applySubsetRule() && !this.applyMineCountRule()) {
+                return false;
+            }
+            this.deductions++;
+        }
+        return true;
+    }
+
+    private boolean applyNumberRule() {
+        boolean progress = false;
+        Bitboard constraints = Bitboard.constraints(this.unknown, this.revealedCells);
+        for (int cell = constraints.nextSetBit(0); cell >= 0; cell = constraints.nextSetBit(cell + 1)) {
+            if (this.state[cell] != REVEALED || this.values[cell] == 0) {
+                continue;
+            }
+            int unknown = this.countNeighbors(cell, UNKNOWN);
+            if (unknown == 0) {
+                continue;
+            }
+            int missingMines = this.values[cell] - this.countNeighbors(cell, MINE);
+            if (missingMines == 0) {
+                this.setUnknownNeighbors(cell, REVEALED);
+                progress = true;
+            } else if (missingMines == unknown) {
+                this.setUnknownNeighbors(cell, MINE);
+                progress = true;
+            }
+        }
+        return progress;
+    }
+
+    private boolean applySubsetRule() {
+        Bitboard constraints = Bitboard.constraints(this.unknown, this.revealedCells);
+        for (int a = constraints.nextSetBit(0); a >= 0; a = constraints.nextSetBit(a + 1)) {
+            int aRow = a / this.cols, aCol = a % this.cols;
+            int aMissing = this.values[a] - this.countNeighbors(a, MINE);
+
+            // numbers sharing a covered neighbor are at most two cells apart
+            for (int r = Math.max(0, aRow - 2); r <= Math.min(this.rows - 1, aRow + 2); r++) {
+                for (int c = Math.max(0, aCol - 2); c <= Math.min(this.cols - 1, aCol + 2); c++) {
+                    int b = r * this.cols + c;
+                    if (b == a || this.state[b] != REVEALED || !this.unknownNeighborsWithin(a, b)) {
+                        continue;
+                    }
+                    int difference = this.countNeighbors(b, UNKNOWN) - this.countNeighbors(a, UNKNOWN);
+                    if (difference == 0) {
+                        continue;
+                    }
+                    int differenceMines = this.values[b] - this.countNeighbors(b, MINE) - aMissing;
+                    if (differenceMines == 0) {
+                        this.setUnknownNeighborsOutside(b, a, REVEALED);
+                        return true;
+                    } else if (differenceMines == difference) {
+                        this.setUnknownNeighborsOutside(b, a, MINE);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean applyMineCountRule() {
+        if (this.knownMines < this.numMines) {
+            return false;
+        }
+        for (int cell = 0; cell < this.state.length; cell++) {
+            if (this.state[cell] == UNKNOWN) {
+                this.reveal(cell);
+            }
+        }
+        return true;
+    }
+
+    // whether every covered neighbor of a is also a neighbor of b
+    private boolean unknownNeighborsWithin(int a, int b) {
+        int aRow = a / this.cols, aCol = a % this.cols;
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                int r = aRow + dr, c = aCol + dc;
+                if ((dr == 0 && dc == 0) || this.outOfBounds(r, c)) {
+                    continue;
+                }
+                int cell = r * this.cols + c;
+                if (this.state[cell] == UNKNOWN && !this.adjacent(cell, b)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void setUnknownNeighborsOutside(int cell, int excluded, byte newState) {
+        int row = cell / this.cols, col = cell % this.cols;
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                int r = row + dr, c = col + dc;
+                if ((dr == 0 && dc == 0) || this.outOfBounds(r, c)) {
+                    continue;
+                }
+                int neighbor = r * this.cols + c;
+                if (this.state[neighbor] == UNKNOWN && !this.adjacent(neighbor, excluded)) {
+                    this.set(neighbor, newState);
+                }
+            }
+        }
+    }
+
+    private void setUnknownNeighbors(int cell, byte newState) {
+        int row = cell / this.cols, col = cell % this.cols;
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                int r = row + dr, c = col + dc;
+                if ((dr == 0 && dc == 0) || this.outOfBounds(r, c)) {
+                    continue;
+                }
+                int neighbor = r * this.cols + c;
+                if (this.state[neighbor] == UNKNOWN) {
+                    this.set(neighbor, newState);
+                }
+            }
+        }
+    }
+
+    private void set(int cell, byte newState) {
+        if (newState == MINE) {
+            this.state[cell] = MINE;
+            this.unknown.clear(cell);
+            this.knownMines++;
+        } else {
+            this.reveal(cell);
+        }
+    }
+
+    // reveals a cell known to be safe, opening up empty regions like MinefieldBoard.explore
+    private void reveal(int start) {
+        if (this.mines[start]) {
+            throw new IllegalStateException("Deduced a mine as safe at cell " + start);
+        }
+        int top = 0;
+        this.stack[top++] = start;
+        this.state[start] = REVEALED;
+        this.unknown.clear(start);
+        this.revealedCells.set(start);
+        this.revealed++;
+
+        while (top > 0) {
+            int cell = this.stack[--top];
+            if (this.values[cell] != 0) {
+                continue;
+            }
+            int row = cell / this.cols, col = cell % this.cols;
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    int r = row + dr, c = col + dc;
+                    if (this.outOfBounds(r, c)) {
+                        continue;
+                    }
+                    int neighbor = r * this.cols + c;
+                    if (this.state[neighbor] == UNKNOWN) {
+                        this.state[neighbor] = REVEALED;
+                        this.unknown.clear(neighbor);
+                        this.revealedCells.set(neighbor);
+                        this.revealed++;
+                        this.stack[top++] = neighbor;
+                    }
+                }
+            }
+        }
+    }
+
+    private int countNeighbors(int cell, byte neighborState) {
+        int row = cell / this.cols, col = cell % this.cols;
+        int count = 0;
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                int r = row + dr, c = col + dc;
+                if ((dr != 0 || dc != 0) && !this.outOfBounds(r, c) && this.state[r * this.cols + c] == neighborState) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private boolean adjacent(int a, int b) {
+        return a != b && Math.abs(a / this.cols - b / this.cols) <= 1 && Math.abs(a % this.cols - b % this.cols) <= 1;
+    }
+
+    private boolean outOfBounds(int r, int c) {
+        return Math.min(r, c) < 0 || r >= this.rows || c >= this.cols;
+    }
+}
@@ -0,0 +1,136 @@
+package com.cameronterry.minesweeper;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * GameEvents: JDK Flight Recorder events for board generation, flood fills, solver runs and log I/O.
+ * <p>
+ * An event is begun and committed around the operation it describes, so JFR records its duration
+ * and thread. When no recording has the event enabled, begin and commit do nothing; fields that cost
+ * work to compute are only filled in once shouldCommit() says the event will be kept.
+ */
+final class GameEvents {
+    private GameEvents() {
+    }
+
+    @Name("com.cameronterry.minesweeper.BoardGeneration")
+    @Label("Board Generation")
+    @Category({"Minesweeper", "Board"})
+    static class BoardGeneration extends Event {
+        @Label("Rows")
+        int rows;
+
+        @Label("Columns")
+        int cols;
+
+        @Label("Mines")
+        int numMines;
+
+        @Label("No-Guess")
+        boolean noGuess;
+
+        @Label("Attempts")
+        @Description("Candidate layouts tested before one was accepted")
+        int attempts;
+
+        @Label("Found")
+        boolean found;
+    }
+
+    @Name("com.cameronterry.minesweeper.FloodFill")
+    @Label("Flood Fill")
+    @Category({"Minesweeper", "Board"})
+    static class FloodFill extends Event {
+        @Label("Row")
+        int row;
+
+        @Label("Column")
+        int col;
+
+        @Label("Chord")
+        boolean chord;
+
+        @Label("Cells Revealed")
+        int cellsRevealed;
+
+        @Label("Hit Mine")
+        boolean hitMine;
+    }
+
+    @Name("com.cameronterry.minesweeper.SolverRun")
+    @Label("Solver Run")
+    @Category({"Minesweeper", "Solver"})
+    static class SolverRun extends Event {
+        @Label("Solver")
+        String solver;
+
+        @Label("Frontier Size")
+        @Description("Covered cells next to an uncovered number")
+        int frontierSize;
+
+        @Label("Components")
+        @Description("Groups of frontier cells that touch one another")
+        int components;
+
+        @Label("Deductions")
+        @Description("Cells or rule applications the solver settled")
+        int deductions;
+
+        @Label("Solved")
+        boolean solved;
+
+        /**
+         * Sets the frontier size and its number of 8-connected components from a row-major mask.
+         */
+        void setFrontier(boolean[] frontier, int rows, int cols) {
+            boolean[] seen = new boolean[frontier.length];
+            int[] stack = new int[frontier.length];
+            for (int start = 0; start < frontier.length; start++) {
+                if (!frontier[start] || seen[start]) {
+                    continue;
+                }
+                this.components++;
+                int top = 0;
+                stack[top++] = start;
+                seen[start] = true;
+                while (top > 0) {
+                    int cell = stack[--top];
+                    this.frontierSize++;
+                    int row = cell / cols, col = cell % cols;
+                    for (int r = Math.max(0, row - 1); r <= Math.min(rows - 1, row + 1); r++) {
+                        for (int c = Math.max(0, col - 1); c <= Math.min(cols - 1, col + 1); c++) {
+                            int neighbor = r * cols + c;
+                            if (frontier[neighbor] && !seen[neighbor]) {
+                                seen[neighbor] = true;
+                                stack[top++] = neighbor;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Name("com.cameronterry.minesweeper.LogIO")
+    @Label("Log I/O")
+    @Category({"Minesweeper", "Logging"})
+    static class LogIO extends Event {
+        @Label("File")
+        String file;
+
+        @Label("Operation")
+        String operation;
+
+        @Label("Records")
+        int records;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+    }
+}
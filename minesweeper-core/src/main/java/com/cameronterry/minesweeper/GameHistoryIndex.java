@@ -0,0 +1,190 @@
+package com.cameronterry.minesweeper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * GameHistoryIndex: Fixed-size index entries for a JSON-lines game log, stored next to it as {@code <log>.idx}.
+ * <p>
+ * Each entry holds the byte offset and length of a record plus its summary fields, so the history
+ * can be listed and queried without reading the log, and a record is read by seeking straight to it.
+ */
+public class GameHistoryIndex {
+    // offset (8) | length (4) | dateTime epoch seconds (8) | rows (1) | cols (1) | mines (2) | finalTime (4) | highestNumber (1)
+    public static final int ENTRY_SIZE = 32;
+
+    private static final Metrics.Histogram LOAD_TIME = Metrics.histogram("log.loadIndex");
+    // update() truncates and appends, so only one may run at a time; the file lock covers other processes
+    private static final Object UPDATE_LOCK = new Object();
+
+    private GameHistoryIndex() {
+    }
+
+    static Path indexPath(String logFileName) {
+        return Path.of(logFileName + ".idx");
+    }
+
+    /**
+     * Appends entries for every log record that is not indexed yet.
+     * A missing, truncated or out-of-date index is repaired by scanning only the unindexed tail of the log.
+     * Safe to call from any thread; concurrent updates are serialized.
+     */
+    public static void update(String logFileName) throws IOException {
+        Path logPath = Path.of(logFileName);
+        if (!Files.exists(logPath)) {
+            return;
+        }
+
+        synchronized (UPDATE_LOCK) {
+            updateLocked(logFileName, logPath);
+        }
+    }
+
+    private static void updateLocked(String logFileName, Path logPath) throws IOException {
+        try (FileChannel index = FileChannel.open(indexPath(logFileName),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileLock ignored = index.lock()) {
+            long entries = index.size() / ENTRY_SIZE;
+            long indexedEnd = 0;
+            if (entries > 0) {
+                ByteBuffer lastEntry = ByteBuffer.allocate(ENTRY_SIZE);
+                index.read(lastEntry, (entries - 1) * ENTRY_SIZE);
+                indexedEnd = lastEntry.getLong(0) + lastEntry.getInt(8);
+            }
+            if (indexedEnd > Files.size(logPath)) {
+                // the log was replaced or truncated, start over
+                entries = 0;
+                indexedEnd = 0;
+            }
+            index.truncate(entries * ENTRY_SIZE);
+            index.position(entries * ENTRY_SIZE);
+
+            ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+            try (MinesweeperGameLoader.GameLogIterator records = new MinesweeperGameLoader.GameLogIterator(logFileName, indexedEnd)) {
+                while (records.hasNext()) {
+                    GameRecord record = records.next();
+                    entry.clear();
+                    writeEntry(entry, records.getLastOffset(), records.getLastLength(), record);
+                    entry.flip();
+                    while (entry.hasRemaining()) {
+                        index.write(entry);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Summary-only records for every game in the log, in file order, read from the index alone.
+     */
+    static List<GameRecord> load(String logFileName) {
+        GameEvents.LogIO event = new GameEvents.LogIO();
+        event.begin();
+        long start = System.nanoTime();
+        List<GameRecord> gameRecords = new ArrayList<>();
+
+        try {
+            update(logFileName);
+            ByteBuffer entries = readEntries(logFileName);
+            while (entries.remaining() >= ENTRY_SIZE) {
+                gameRecords.add(readEntry(entries, logFileName));
+            }
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+        }
+
+        LOAD_TIME.recordSince(start);
+        if (event.shouldCommit()) {
+            event.file = indexPath(logFileName).toString();
+            event.operation = "loadIndex";
+            event.records = gameRecords.size();
+            event.bytes = (long) gameRecords.size() * ENTRY_SIZE;
+            event.commit();
+        }
+        return gameRecords;
+    }
+
+    /**
+     * Best final time on the given configuration, answered from the index alone.
+     */
+    static OptionalInt bestTime(String logFileName, int rows, int cols, int numMines) {
+        OptionalInt bestTime = OptionalInt.empty();
+
+        try {
+            update(logFileName);
+            ByteBuffer entries = readEntries(logFileName);
+            for (int position = 0; position + ENTRY_SIZE <= entries.limit(); position += ENTRY_SIZE) {
+                if ((entries.get(position + 20) & 0xFF) != rows
+                        || (entries.get(position + 21) & 0xFF) != cols
+                        || (entries.getShort(position + 22) & 0xFFFF) != numMines) {
+                    continue;
+                }
+                int finalTime = entries.getInt(position + 24);
+                if (bestTime.isEmpty() || finalTime < bestTime.getAsInt()) {
+                    bestTime = OptionalInt.of(finalTime);
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+        }
+
+        return bestTime;
+    }
+
+    /**
+     * The raw index entries; entry i starts at byte {@code i * ENTRY_SIZE}.
+     */
+    public static ByteBuffer readEntries(String logFileName) throws IOException {
+        Path indexPath = indexPath(logFileName);
+        if (!Files.exists(indexPath)) {
+            return ByteBuffer.allocate(0);
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(indexPath));
+    }
+
+    private static void writeEntry(ByteBuffer entry, long offset, int length, GameRecord record) {
+        entry.putLong(offset);
+        entry.putInt(length);
+        entry.putLong(record.getDateTime().toEpochSecond(ZoneOffset.UTC));
+        entry.put((byte) record.getRows());
+        entry.put((byte) record.getCols());
+        entry.putShort((short) record.getNumMines());
+        entry.putInt(record.getFinalTime());
+        entry.put((byte) record.getHighestNumber());
+        entry.position(ENTRY_SIZE);
+    }
+
+    /**
+     * Summary-only record for the entry at the given position in the index.
+     */
+    public static GameRecord readEntry(ByteBuffer entries, int entryIndex, String logFileName) {
+        entries.position(entryIndex * ENTRY_SIZE);
+        return readEntry(entries, logFileName);
+    }
+
+    private static GameRecord readEntry(ByteBuffer entries, String logFileName) {
+        long offset = entries.getLong();
+        int length = entries.getInt();
+        LocalDateTime dateTime = LocalDateTime.ofEpochSecond(entries.getLong(), 0, ZoneOffset.UTC);
+        int rows = entries.get() & 0xFF;
+        int cols = entries.get() & 0xFF;
+        int numMines = entries.getShort() & 0xFFFF;
+        int finalTime = entries.getInt();
+        int highestNumber = entries.get();
+        entries.position(entries.position() + 3);
+
+        return new GameRecord(rows, cols, numMines, highestNumber, finalTime, dateTime,
+                () -> MinesweeperGameLoader.readRecordAt(logFileName, offset, length));
+    }
+}
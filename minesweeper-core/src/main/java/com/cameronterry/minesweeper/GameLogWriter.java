@@ -0,0 +1,336 @@
+package com.cameronterry.minesweeper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * GameLogWriter: Long-lived, asynchronous append writer for a game log.
+ * <p>
+ * Records are queued by the caller and written in batches by a background thread through one
+ * FileChannel, so saving a game never opens or closes the file and never blocks on disk.
+ * JSON-lines logs also have their history index brought up to date after every batch.
+ * A batch that fails is cut back out of the file, and a record torn by a crash is cut off when the
+ * file is opened, so records are never appended after a partial one.
+ */
+public class GameLogWriter implements Closeable {
+    public enum RecordFormat {
+        JSON_LINES, LENGTH_PREFIXED
+    }
+
+    public enum FsyncPolicy {
+        // leave flushing to the operating system
+        NEVER,
+        // force to disk once when the writer is closed
+        ON_CLOSE,
+        // force to disk after every batch
+        EVERY_BATCH
+    }
+
+    private static final int MAX_BATCH = 1024;
+    private static final Metrics.Histogram BATCH_WRITE_TIME = Metrics.histogram("log.writeBatch");
+    private static final LongAdder RECORDS_WRITTEN = Metrics.counter("log.recordsWritten");
+    private static final LongAdder RECORDS_LOST = Metrics.counter("log.recordsLost");
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private record Entry(byte[] payload, CountDownLatch flushed) {
+    }
+
+    // queued after the last record by close()
+    private static final Entry CLOSE = new Entry(null, null);
+
+    private final String fileName;
+    private final RecordFormat format;
+    private final FsyncPolicy fsyncPolicy;
+    private final LinkedBlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Thread worker;
+    // guards closed together with the queue, so nothing is queued behind CLOSE
+    private final Object lock = new Object();
+    private boolean closed = false;
+
+    private FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+    // file position the current batch started at, where a failed batch is cut back to
+    private long batchStart;
+
+    public GameLogWriter(String fileName, RecordFormat format, FsyncPolicy fsyncPolicy) {
+        this.fileName = fileName;
+        this.format = format;
+        this.fsyncPolicy = fsyncPolicy;
+        this.worker = new Thread(this::run, "game-log-writer-" + Path.of(fileName).getFileName());
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public void append(String jsonString) {
+        this.append(jsonString.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void append(byte[] record) {
+        synchronized (this.lock) {
+            if (this.closed) {
+                throw new IllegalStateException("Game log writer for " + this.fileName + " is closed");
+            }
+            this.queue.add(new Entry(record, null));
+        }
+    }
+
+    /**
+     * Blocks until every record appended before this call has been written.
+     */
+    public void flush() {
+        CountDownLatch flushed = new CountDownLatch(1);
+        synchronized (this.lock) {
+            if (this.closed) {
+                return;
+            }
+            this.queue.add(new Entry(null, flushed));
+        }
+        try {
+            flushed.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes all queued records and closes the file.
+     */
+    @Override
+    public void close() {
+        synchronized (this.lock) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            this.queue.add(CLOSE);
+        }
+        try {
+            this.worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(MAX_BATCH);
+        boolean running = true;
+
+        while (running) {
+            try {
+                batch.add(this.queue.take());
+            } catch (InterruptedException e) {
+                // only close() stops the writer; keep draining
+                continue;
+            }
+            this.queue.drainTo(batch, MAX_BATCH - 1);
+
+            List<CountDownLatch> flushed = new ArrayList<>();
+            int queued = 0;
+            for (Entry entry : batch) {
+                if (entry == CLOSE) {
+                    running = false;
+                } else if (entry.flushed() != null) {
+                    flushed.add(entry.flushed());
+                } else {
+                    queued++;
+                }
+            }
+
+            GameEvents.LogIO event = new GameEvents.LogIO();
+            event.begin();
+            long start = System.nanoTime();
+            int records = 0;
+            long bytes = 0;
+            boolean written = false;
+            try {
+                if (this.channel != null) {
+                    this.batchStart = this.channel.position();
+                }
+                for (Entry entry : batch) {
+                    if (entry.payload() != null) {
+                        this.write(entry.payload());
+                        records++;
+                        bytes += entry.payload().length;
+                    }
+                }
+                this.writeBuffer();
+                if (this.channel != null && this.fsyncPolicy == FsyncPolicy.EVERY_BATCH) {
+                    this.channel.force(false);
+                }
+                written = true;
+                RECORDS_WRITTEN.add(queued);
+                if (this.format == RecordFormat.JSON_LINES && this.channel != null) {
+                    GameHistoryIndex.update(this.fileName);
+                }
+            } catch (IOException | RuntimeException e) {
+                if (!written) {
+                    this.discardBatch();
+                    RECORDS_LOST.add(queued);
+                }
+                e.printStackTrace();
+            }
+            BATCH_WRITE_TIME.recordSince(start);
+            if (records > 0 && event.shouldCommit()) {
+                event.file = this.fileName;
+                event.operation = "writeBatch";
+                event.records = records;
+                event.bytes = bytes;
+                event.commit();
+            }
+
+            flushed.forEach(CountDownLatch::countDown);
+            batch.clear();
+        }
+
+        // nothing should be queued behind CLOSE, but never leave a flush() waiting or a record unaccounted for
+        this.queue.drainTo(batch);
+        for (Entry entry : batch) {
+            if (entry.flushed() != null) {
+                entry.flushed().countDown();
+            } else if (entry != CLOSE) {
+                new IllegalStateException("Record queued after " + this.fileName + " was closed was not written")
+                        .printStackTrace();
+            }
+        }
+
+        try {
+            if (this.channel != null) {
+                if (this.fsyncPolicy != FsyncPolicy.NEVER) {
+                    this.channel.force(false);
+                }
+                this.channel.close();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void write(byte[] payload) throws IOException {
+        int framedLength = payload.length + 5 + LINE_SEPARATOR.length;
+        if (this.buffer.remaining() < framedLength) {
+            this.writeBuffer();
+            if (this.buffer.capacity() < framedLength) {
+                this.buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(framedLength) << 1);
+            }
+        }
+
+        if (this.format == RecordFormat.LENGTH_PREFIXED) {
+            GameRecordCodec.writeVarInt(this.buffer, payload.length);
+            this.buffer.put(payload);
+        } else {
+            this.buffer.put(payload);
+            this.buffer.put(LINE_SEPARATOR);
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        if (this.buffer.position() == 0) {
+            return;
+        }
+        if (this.channel == null) {
+            this.channel = FileChannel.open(Path.of(this.fileName),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // a crash may have left a torn record at the end; new records must not be appended after it
+            long end = this.format == RecordFormat.LENGTH_PREFIXED ? completeFramesEnd(this.channel) : lastLineEnd(this.channel);
+            this.channel.truncate(end);
+            this.channel.position(end);
+            this.batchStart = end;
+        }
+
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    // drops everything of the failed batch, both what is still buffered and what already reached the file
+    private void discardBatch() {
+        this.buffer.clear();
+        if (this.channel == null) {
+            return;
+        }
+        try {
+            this.channel.truncate(this.batchStart);
+            this.channel.position(this.batchStart);
+        } catch (IOException e) {
+            e.printStackTrace();
+            // reopening repairs the tail before the next batch is written
+            try {
+                this.channel.close();
+            } catch (IOException ignored) {
+                // already reported above
+            }
+            this.channel = null;
+        }
+    }
+
+    /**
+     * End of the last complete length-prefixed record in the file.
+     */
+    static long completeFramesEnd(FileChannel channel) throws IOException {
+        long size = channel.size();
+        ByteBuffer window = ByteBuffer.allocate(1 << 16).limit(0);
+        long windowStart = 0;
+        long position = 0;
+
+        // only the length prefixes are read, records themselves are skipped over
+        while (position < size) {
+            if (position < windowStart || position + 5 > windowStart + window.limit()) {
+                window.clear();
+                while (window.hasRemaining() && channel.read(window, position + window.position()) > 0) {
+                    // keep filling
+                }
+                window.flip();
+                windowStart = position;
+            }
+            window.position((int) (position - windowStart));
+            int recordLength;
+            try {
+                recordLength = GameRecordCodec.readVarInt(window);
+            } catch (BufferUnderflowException e) {
+                // the file ends inside the length prefix
+                break;
+            }
+            long next = windowStart + window.position() + recordLength;
+            if (next > size) {
+                break;
+            }
+            position = next;
+        }
+        return position;
+    }
+
+    /**
+     * End of the last line in the file that has its line separator.
+     */
+    static long lastLineEnd(FileChannel channel) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(8192);
+        long end = channel.size();
+        while (end > 0) {
+            int length = (int) Math.min(window.capacity(), end);
+            window.clear().limit(length);
+            while (window.hasRemaining() && channel.read(window, end - length + window.position()) > 0) {
+                // keep filling
+            }
+            for (int i = window.position() - 1; i >= 0; i--) {
+                if (window.get(i) == '\n') {
+                    return end - length + i + 1;
+                }
+            }
+            end -= length;
+        }
+        return 0;
+    }
+}
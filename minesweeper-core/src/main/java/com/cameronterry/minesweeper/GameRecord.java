@@ -0,0 +1,94 @@
+package com.cameronterry.minesweeper;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+public class GameRecord {
+    private final int rows;
+    private final int cols;
+    private final int numMines;
+    private int[][] boardState;
+
+    private int[][] uncoveredCells;
+    private int[][] flaggedCells;
+    private final int highestNumber;
+    private final int finalTime;
+    private final LocalDateTime dateTime;
+
+    // loads the board arrays of a summary-only record on first use
+    private Supplier<GameRecord> details;
+
+    public GameRecord(int rows, int cols, int numMines, int[][] boardState, int[][] uncoveredCells,
+                      int[][] flaggedCells, int highestNumber, int finalTime, LocalDateTime dateTime) {
+        this.rows = rows;
+        this.cols = cols;
+        this.numMines = numMines;
+        this.boardState = boardState;
+        this.uncoveredCells = uncoveredCells;
+        this.flaggedCells = flaggedCells;
+        this.highestNumber = highestNumber;
+        this.finalTime = finalTime;
+        this.dateTime = dateTime;
+    }
+
+    // summary-only record: the board arrays are read through details when first needed
+    public GameRecord(int rows, int cols, int numMines, int highestNumber, int finalTime, LocalDateTime dateTime,
+                      Supplier<GameRecord> details) {
+        this.rows = rows;
+        this.cols = cols;
+        this.numMines = numMines;
+        this.highestNumber = highestNumber;
+        this.finalTime = finalTime;
+        this.dateTime = dateTime;
+        this.details = details;
+    }
+
+    private void materialize() {
+        if (this.details != null) {
+            GameRecord fullRecord = this.details.get();
+            this.boardState = fullRecord.boardState;
+            this.uncoveredCells = fullRecord.uncoveredCells;
+            this.flaggedCells = fullRecord.flaggedCells;
+            this.details = null;
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getNumMines() {
+        return numMines;
+    }
+
+    public int[][] getBoardState() {
+        materialize();
+        return boardState;
+    }
+
+    public int[][] getUncoveredCells() {
+        materialize();
+        return uncoveredCells;
+    }
+
+    public int[][] getFlaggedCells() {
+        materialize();
+        return flaggedCells;
+    }
+
+    public int getHighestNumber() {
+        return highestNumber;
+    }
+
+    public int getFinalTime() {
+        return finalTime;
+    }
+
+    public LocalDateTime getDateTime() {
+        return dateTime;
+    }
+}
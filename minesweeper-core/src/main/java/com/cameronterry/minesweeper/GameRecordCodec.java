@@ -0,0 +1,207 @@
+package com.cameronterry.minesweeper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * GameRecordCodec: Compact binary format for finished games.
+ * <p>
+ * Layout of a record (all integers are unsigned varints):
+ * <pre>
+ *   version (1 byte) | rows | cols | numMines | finalTime | dateTime (epoch seconds, UTC)
+ *   mine layout bits | uncovered bits | flagged bits
+ * </pre>
+ * Each bit set holds one bit per cell in row-major order, padded to a whole byte.
+ * Cell values and the highest number are derived from the mine layout on load.
+ */
+class GameRecordCodec {
+    static final int VERSION = 1;
+    static final int MAX_VARLONG_BYTES = 10;
+
+    private static final ThreadLocal<ByteBuffer> SCRATCH =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocate(MAX_VARLONG_BYTES));
+
+    private GameRecordCodec() {
+    }
+
+    static byte[] encode(MinefieldBoard minefieldBoard, int finalTime, LocalDateTime dateTime) {
+        int rows = minefieldBoard.getRows();
+        int cols = minefieldBoard.getCols();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 + 3 * bitSetLength(rows * cols));
+
+        out.write(VERSION);
+        writeVarInt(out, rows);
+        writeVarInt(out, cols);
+        writeVarInt(out, minefieldBoard.getNumMines());
+        writeVarInt(out, finalTime);
+        writeVarLong(out, dateTime.toEpochSecond(ZoneOffset.UTC));
+
+        boolean[][] mines = minefieldBoard.getMines();
+        Cell[][] board = minefieldBoard.getBoard();
+        byte[] mineBits = new byte[bitSetLength(rows * cols)];
+        byte[] uncoveredBits = new byte[mineBits.length];
+        byte[] flaggedBits = new byte[mineBits.length];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int index = r * cols + c;
+                CellState state = board[r][c].getState();
+                if (mines[r][c]) {
+                    mineBits[index >> 3] |= (byte) (1 << (index & 7));
+                }
+                if (state == CellState.UNCOVERED) {
+                    uncoveredBits[index >> 3] |= (byte) (1 << (index & 7));
+                } else if (state == CellState.FLAGGED) {
+                    flaggedBits[index >> 3] |= (byte) (1 << (index & 7));
+                }
+            }
+        }
+        out.writeBytes(mineBits);
+        out.writeBytes(uncoveredBits);
+        out.writeBytes(flaggedBits);
+
+        return out.toByteArray();
+    }
+
+    static GameRecord decode(ByteBuffer buffer) {
+        int version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported game record version: " + version);
+        }
+
+        int rows = readVarInt(buffer);
+        int cols = readVarInt(buffer);
+        int numMines = readVarInt(buffer);
+        int finalTime = readVarInt(buffer);
+        LocalDateTime dateTime = LocalDateTime.ofEpochSecond(readVarLong(buffer), 0, ZoneOffset.UTC);
+
+        int bitSetLength = bitSetLength(rows * cols);
+        int mineOffset = buffer.position();
+        int uncoveredOffset = mineOffset + bitSetLength;
+        int flaggedOffset = uncoveredOffset + bitSetLength;
+
+        boolean[][] mines = new boolean[rows][cols];
+        int[][] uncoveredCells = new int[rows][cols];
+        int[][] flaggedCells = new int[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int index = r * cols + c;
+                mines[r][c] = getBit(buffer, mineOffset, index);
+                uncoveredCells[r][c] = getBit(buffer, uncoveredOffset, index) ? 1 : 0;
+                flaggedCells[r][c] = getBit(buffer, flaggedOffset, index) ? 1 : 0;
+            }
+        }
+        buffer.position(flaggedOffset + bitSetLength);
+
+        int[][] boardState = neighborValues(mines);
+        int highestNumber = 0;
+        for (int[] row : boardState) {
+            for (int value : row) {
+                highestNumber = Math.max(highestNumber, value);
+            }
+        }
+
+        return new GameRecord(rows, cols, numMines, boardState, uncoveredCells, flaggedCells,
+                highestNumber, finalTime, dateTime);
+    }
+
+    /**
+     * Raw cell values for a mine layout: -1 for a mine, otherwise the number of adjacent mines.
+     * The counts for the whole layout come from one word-parallel pass over a Bitboard.
+     */
+    static int[][] neighborValues(boolean[][] mines) {
+        int[][] values = Bitboard.of(mines).neighborCounts();
+        for (int r = 0; r < values.length; r++) {
+            for (int c = 0; c < values[r].length; c++) {
+                if (mines[r][c]) {
+                    values[r][c] = CellValue.MINE.getValue();
+                }
+            }
+        }
+        return values;
+    }
+
+    static int bitSetLength(int cells) {
+        return (cells + 7) >> 3;
+    }
+
+    private static boolean getBit(ByteBuffer buffer, int offset, int index) {
+        return (buffer.get(offset + (index >> 3)) & (1 << (index & 7))) != 0;
+    }
+
+    static void writeVarInt(ByteArrayOutputStream out, int value) {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    static void writeVarLong(ByteArrayOutputStream out, long value) {
+        ByteBuffer bytes = encodeScratch(value);
+        out.write(bytes.array(), 0, bytes.position());
+    }
+
+    static void writeVarInt(OutputStream out, int value) throws IOException {
+        ByteBuffer bytes = encodeScratch(value & 0xFFFFFFFFL);
+        out.write(bytes.array(), 0, bytes.position());
+    }
+
+    static void writeVarInt(ByteBuffer buffer, int value) {
+        writeVarLong(buffer, value & 0xFFFFFFFFL);
+    }
+
+    static void writeVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    // value encoded into this thread's scratch buffer, which holds the bytes up to its position
+    private static ByteBuffer encodeScratch(long value) {
+        ByteBuffer scratch = SCRATCH.get().clear();
+        writeVarLong(scratch, value);
+        return scratch;
+    }
+
+    static int readVarInt(ByteBuffer buffer) {
+        return (int) readVarLong(buffer);
+    }
+
+    static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Reads a varint from a stream.
+     *
+     * @return the value, or -1 if the stream ended before the first byte
+     */
+    static int readVarInt(InputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.read();
+            if (b < 0) {
+                if (shift == 0) {
+                    return -1;
+                }
+                throw new IOException("Truncated varint");
+            }
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
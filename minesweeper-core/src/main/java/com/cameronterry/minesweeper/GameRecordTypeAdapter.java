@@ -0,0 +1,126 @@
+package com.cameronterry.minesweeper;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * GameRecordTypeAdapter: Streams a GameRecord to and from the JSON-lines log format.
+ * <p>
+ * Board arrays are decoded straight into int arrays, with no intermediate maps or boxed numbers.
+ * Keys may appear in any order, and records written before uncovered/flagged cells were logged
+ * load with those arrays set to null.
+ */
+class GameRecordTypeAdapter extends TypeAdapter<GameRecord> {
+
+    @Override
+    public void write(JsonWriter out, GameRecord record) throws IOException {
+        if (record == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("boardSize").beginArray()
+                .value(record.getRows())
+                .value(record.getCols())
+                .value(record.getNumMines())
+                .endArray();
+        out.name("finalBoardState");
+        writeGrid(out, record.getBoardState());
+        if (record.getUncoveredCells() != null) {
+            out.name("uncoveredCells");
+            writeGrid(out, record.getUncoveredCells());
+        }
+        if (record.getFlaggedCells() != null) {
+            out.name("flaggedCells");
+            writeGrid(out, record.getFlaggedCells());
+        }
+        out.name("highestNumber").value(record.getHighestNumber());
+        out.name("finalTime").value(record.getFinalTime());
+        out.name("dateTime").value(record.getDateTime().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        out.endObject();
+    }
+
+    @Override
+    public GameRecord read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        int rows = 0, cols = 0, numMines = 0, highestNumber = 0, finalTime = 0;
+        int[][] boardState = null, uncoveredCells = null, flaggedCells = null;
+        LocalDateTime dateTime = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "boardSize" -> {
+                    in.beginArray();
+                    rows = in.nextInt();
+                    cols = in.nextInt();
+                    numMines = in.nextInt();
+                    in.endArray();
+                }
+                case "finalBoardState" -> boardState = readGrid(in);
+                case "uncoveredCells" -> uncoveredCells = readGrid(in);
+                case "flaggedCells" -> flaggedCells = readGrid(in);
+                case "highestNumber" -> highestNumber = in.nextInt();
+                case "finalTime" -> finalTime = in.nextInt();
+                case "dateTime" -> dateTime = LocalDateTime.parse(in.nextString(), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new GameRecord(rows, cols, numMines, boardState, uncoveredCells, flaggedCells,
+                highestNumber, finalTime, dateTime);
+    }
+
+    private static void writeGrid(JsonWriter out, int[][] grid) throws IOException {
+        out.beginArray();
+        for (int[] row : grid) {
+            out.beginArray();
+            for (int value : row) {
+                out.value(value);
+            }
+            out.endArray();
+        }
+        out.endArray();
+    }
+
+    private static int[][] readGrid(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        List<int[]> rows = new ArrayList<>(30);
+        int[] scratch = new int[30];
+        in.beginArray();
+        while (in.hasNext()) {
+            int length = 0;
+            in.beginArray();
+            while (in.hasNext()) {
+                if (length == scratch.length) {
+                    scratch = Arrays.copyOf(scratch, length * 2);
+                }
+                scratch[length++] = in.nextInt();
+            }
+            in.endArray();
+            rows.add(Arrays.copyOf(scratch, length));
+        }
+        in.endArray();
+
+        return rows.toArray(new int[0][]);
+    }
+}
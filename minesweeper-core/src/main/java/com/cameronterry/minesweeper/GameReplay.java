@@ -0,0 +1,208 @@
+package com.cameronterry.minesweeper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GameReplay: Every move of a game as a compact event stream, replayable from the board seed.
+ * <p>
+ * Each move is one varint, {@code cellIndex << 3 | moveType}. An undo or redo is written as
+ * {@code changeCount << 3 | moveType} followed by one varint {@code cellIndex << 2 | state} per cell
+ * it set, so it replays without the undo history. A board snapshot is kept every
+ * {@link #SNAPSHOT_INTERVAL} moves, so seeking to a move restores the nearest earlier snapshot
+ * and replays at most that many moves instead of the whole game.
+ * <p>
+ * Layout (integers are unsigned varints unless noted):
+ * <pre>
+ *   version (1 byte) | rows | cols | numMines | seed (8 bytes) | moveCount | events length | events
+ *   snapshot count | per snapshot: move | event offset | snapshot length | BoardSnapshot bytes
+ * </pre>
+ */
+public class GameReplay {
+    static final int VERSION = 2;
+    static final int SNAPSHOT_INTERVAL = 32;
+
+    public enum Move {
+        UNCOVER, FLAG, CHORD, UNDO, REDO
+    }
+
+    // board state after the given number of moves; eventOffset is where the following move starts
+    private record Checkpoint(int move, int eventOffset, byte[] snapshot) {
+    }
+
+    private final int rows, cols, numMines;
+    private final long seed;
+    private final ByteArrayOutputStream events;
+    private final List<Checkpoint> checkpoints;
+    private int moveCount;
+
+    /**
+     * Starts recording moves on the given board. A board that is already partly played
+     * (a resumed game) gets a snapshot of its starting state, as the seed alone cannot rebuild it.
+     */
+    public GameReplay(MinefieldBoard board) {
+        this(board.getRows(), board.getCols(), board.getNumMines(), board.getSeed(),
+                new ByteArrayOutputStream(), new ArrayList<>(), 0);
+        if (!board.getUncoveredCells().isEmpty() || !board.getFlaggedCells().isEmpty()) {
+            this.checkpoints.add(new Checkpoint(0, 0, new BoardSnapshot(board, 0).toBytes()));
+        }
+    }
+
+    private GameReplay(int rows, int cols, int numMines, long seed, ByteArrayOutputStream events,
+                       List<Checkpoint> checkpoints, int moveCount) {
+        this.rows = rows;
+        this.cols = cols;
+        this.numMines = numMines;
+        this.seed = seed;
+        this.events = events;
+        this.checkpoints = checkpoints;
+        this.moveCount = moveCount;
+    }
+
+    /**
+     * Records a move that has just been applied to the board.
+     */
+    public void record(Move move, int row, int col, MinefieldBoard board) {
+        GameRecordCodec.writeVarInt(this.events, (row * this.cols + col) << 3 | move.ordinal());
+        this.endMove(board);
+    }
+
+    /**
+     * Records an undo or redo that has just applied the given BoardHistory delta to the board.
+     */
+    public void record(Move move, int[] delta, MinefieldBoard board) {
+        boolean undo = move == Move.UNDO;
+        GameRecordCodec.writeVarInt(this.events, delta.length << 3 | move.ordinal());
+        for (int change : delta) {
+            int state = undo ? BoardHistory.before(change) : BoardHistory.after(change);
+            GameRecordCodec.writeVarInt(this.events, BoardHistory.cell(change) << 2 | state);
+        }
+        this.endMove(board);
+    }
+
+    private void endMove(MinefieldBoard board) {
+        this.moveCount++;
+        if (this.moveCount % SNAPSHOT_INTERVAL == 0) {
+            this.checkpoints.add(new Checkpoint(this.moveCount, this.events.size(),
+                    new BoardSnapshot(board, 0).toBytes()));
+        }
+    }
+
+    int getMoveCount() {
+        return this.moveCount;
+    }
+
+    long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * The board as it was after the given number of moves, 0 being the starting board.
+     */
+    MinefieldBoard boardAt(int move) {
+        if (move < 0 || move > this.moveCount) {
+            throw new IllegalArgumentException("Move " + move + " is outside 0.." + this.moveCount);
+        }
+
+        Checkpoint start = null;
+        for (Checkpoint checkpoint : this.checkpoints) {
+            if (checkpoint.move() > move) {
+                break;
+            }
+            start = checkpoint;
+        }
+
+        MinefieldBoard board;
+        int replayed;
+        ByteBuffer buffer = ByteBuffer.wrap(this.events.toByteArray());
+        if (start != null) {
+            board = BoardSnapshot.fromBytes(start.snapshot()).board();
+            replayed = start.move();
+            buffer.position(start.eventOffset());
+        } else {
+            board = new MinefieldBoard(this.rows, this.cols, this.numMines, this.seed);
+            replayed = 0;
+        }
+
+        Move[] moves = Move.values();
+        CellState[] states = CellState.values();
+        for (; replayed < move; replayed++) {
+            int event = GameRecordCodec.readVarInt(buffer);
+            int argument = event >>> 3;
+            int row = argument / this.cols;
+            int col = argument % this.cols;
+            switch (moves[event & 7]) {
+                case UNCOVER -> board.uncover(row, col);
+                case FLAG -> board.flagCell(row, col);
+                case CHORD -> board.chord(row, col);
+                case UNDO, REDO -> {
+                    // argument is the number of cells set; the recorded states are applied as a redo
+                    int[] delta = new int[argument];
+                    for (int i = 0; i < argument; i++) {
+                        int cellState = GameRecordCodec.readVarInt(buffer);
+                        CellState state = states[cellState & 3];
+                        delta[i] = BoardHistory.change(cellState >>> 2, state, state);
+                    }
+                    board.applyChanges(delta, false);
+                }
+            }
+        }
+        return board;
+    }
+
+    byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 + this.events.size());
+
+        out.write(VERSION);
+        GameRecordCodec.writeVarInt(out, this.rows);
+        GameRecordCodec.writeVarInt(out, this.cols);
+        GameRecordCodec.writeVarInt(out, this.numMines);
+        out.writeBytes(ByteBuffer.allocate(Long.BYTES).putLong(this.seed).array());
+        GameRecordCodec.writeVarInt(out, this.moveCount);
+        GameRecordCodec.writeVarInt(out, this.events.size());
+        out.writeBytes(this.events.toByteArray());
+
+        GameRecordCodec.writeVarInt(out, this.checkpoints.size());
+        for (Checkpoint checkpoint : this.checkpoints) {
+            GameRecordCodec.writeVarInt(out, checkpoint.move());
+            GameRecordCodec.writeVarInt(out, checkpoint.eventOffset());
+            GameRecordCodec.writeVarInt(out, checkpoint.snapshot().length);
+            out.writeBytes(checkpoint.snapshot());
+        }
+
+        return out.toByteArray();
+    }
+
+    static GameReplay fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported replay version: " + version);
+        }
+
+        int rows = GameRecordCodec.readVarInt(buffer);
+        int cols = GameRecordCodec.readVarInt(buffer);
+        int numMines = GameRecordCodec.readVarInt(buffer);
+        long seed = buffer.getLong();
+        int moveCount = GameRecordCodec.readVarInt(buffer);
+
+        byte[] eventBytes = new byte[GameRecordCodec.readVarInt(buffer)];
+        buffer.get(eventBytes);
+        ByteArrayOutputStream events = new ByteArrayOutputStream(eventBytes.length);
+        events.writeBytes(eventBytes);
+
+        int checkpointCount = GameRecordCodec.readVarInt(buffer);
+        List<Checkpoint> checkpoints = new ArrayList<>(checkpointCount);
+        for (int i = 0; i < checkpointCount; i++) {
+            int move = GameRecordCodec.readVarInt(buffer);
+            int eventOffset = GameRecordCodec.readVarInt(buffer);
+            byte[] snapshot = new byte[GameRecordCodec.readVarInt(buffer)];
+            buffer.get(snapshot);
+            checkpoints.add(new Checkpoint(move, eventOffset, snapshot));
+        }
+
+        return new GameReplay(rows, cols, numMines, seed, events, checkpoints, moveCount);
+    }
+}
@@ -0,0 +1,265 @@
+package com.cameronterry.minesweeper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * GameServer: Hosts many games at once without a UI, one MinefieldBoard per session.
+ * <p>
+ * Everything that touches a session's board, moves, views and eviction alike, goes through the
+ * session's MoveQueue, which applies it in submission order on a virtual thread. A board is only
+ * ever touched by one thread at a time, while different sessions run in parallel, and change
+ * sets are published to the session's subscribers in move order.
+ * A session idle for longer than the idle timeout is written to a BoardSnapshot file in the
+ * snapshot directory and its board dropped, leaving a few fields in memory; its next move loads
+ * it back. Clients call the server in process, or over a loopback port with GameServerSocket.
+ */
+public final class GameServer implements Closeable {
+    private static final Metrics.Histogram MOVE_TIME = Metrics.histogram("server.move");
+    private static final LongAdder EVICTIONS = Metrics.counter("server.evictions");
+    private static final LongAdder RESTORES = Metrics.counter("server.restores");
+
+    private static final class Session {
+        final long id;
+        final long openedAt = System.nanoTime();
+        final MoveQueue queue;
+        // null while the session is evicted to its snapshot file; written by queued tasks only
+        volatile MinefieldBoard board;
+        int moves;
+        boolean finished;
+        volatile long lastUsed = System.nanoTime();
+
+        Session(long id, MinefieldBoard board, MoveQueue queue) {
+            this.id = id;
+            this.board = board;
+            this.queue = queue;
+        }
+    }
+
+    private final Path snapshotDirectory;
+    private final long idleNanos;
+    private final Map<Long, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final ExecutorService moveExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean closed = false;
+    private final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "game-server-evict");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public GameServer(Path snapshotDirectory, Duration idleTimeout) throws IOException {
+        this.snapshotDirectory = Files.createDirectories(snapshotDirectory);
+        this.idleNanos = idleTimeout.toNanos();
+        long period = Math.max(1, idleTimeout.toMillis() / 2);
+        this.evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public long open(int rows, int cols, int numMines) {
+        return this.open(new MinefieldBoard(rows, cols, numMines));
+    }
+
+    public long open(MinefieldBoard board) {
+        long id = this.nextId.getAndIncrement();
+        this.sessions.put(id, new Session(id, board, new MoveQueue(this.moveExecutor)));
+        return id;
+    }
+
+    /**
+     * Queues an UNCOVER, FLAG or CHORD for a session. Moves on a finished game and moves without
+     * a cell (UNDO, REDO) complete exceptionally.
+     */
+    public CompletableFuture<MoveQueue.MoveResult> submit(long sessionId, GameReplay.Move move, int row, int col) {
+        Session session = this.session(sessionId);
+        return session.queue.submit(() -> this.apply(session, move, row, col));
+    }
+
+    /**
+     * The session's board once every move submitted before has been applied.
+     */
+    public CompletableFuture<BoardView> view(long sessionId) {
+        Session session = this.session(sessionId);
+        return session.queue.execute(() -> this.resident(session).view());
+    }
+
+    /**
+     * Calls the subscriber with the result of every later move of the session, in move order,
+     * on the thread that applied it.
+     */
+    public void subscribe(long sessionId, Consumer<MoveQueue.MoveResult> subscriber) {
+        this.session(sessionId).queue.subscribe(subscriber);
+    }
+
+    /**
+     * Ends a session and deletes its snapshot, if it has one.
+     */
+    public void close(long sessionId) {
+        Session session = this.sessions.remove(sessionId);
+        if (session == null) {
+            return;
+        }
+        session.queue.execute(() -> {
+            session.board = null;
+            try {
+                Files.deleteIfExists(this.snapshotPath(session));
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            return null;
+        });
+    }
+
+    public int sessionCount() {
+        return this.sessions.size();
+    }
+
+    /**
+     * Sessions whose board is in memory rather than in a snapshot file.
+     */
+    public int residentCount() {
+        int resident = 0;
+        for (Session session : this.sessions.values()) {
+            if (session.board != null) {
+                resident++;
+            }
+        }
+        return resident;
+    }
+
+    /**
+     * Writes every session idle for at least the idle timeout to its snapshot file. The eviction
+     * is queued behind the session's moves and skipped if one of them arrived meanwhile.
+     * Runs on its own every half timeout.
+     *
+     * @return the number of sessions evicted
+     */
+    public int evictIdle() {
+        return this.evictIdle(this.idleNanos);
+    }
+
+    int evictIdle(long idleNanos) {
+        List<CompletableFuture<Boolean>> evictions = new ArrayList<>();
+        for (Session session : this.sessions.values()) {
+            if (session.board != null && System.nanoTime() - session.lastUsed >= idleNanos) {
+                evictions.add(session.queue.execute(() -> this.evict(session, idleNanos)));
+            }
+        }
+        int evicted = 0;
+        for (CompletableFuture<Boolean> eviction : evictions) {
+            try {
+                if (eviction.join()) {
+                    evicted++;
+                }
+            } catch (CompletionException | CancellationException e) {
+                // that session stays in memory; the others, and the next run, carry on
+                e.printStackTrace();
+            }
+        }
+        return evicted;
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        this.evictor.shutdownNow();
+        this.moveExecutor.shutdown();
+    }
+
+    // runs on the session's queue
+    private MoveQueue.MoveResult apply(Session session, GameReplay.Move move, int row, int col) {
+        long start = System.nanoTime();
+        if (session.finished) {
+            throw new IllegalStateException("Session " + session.id + " has already finished");
+        }
+        MinefieldBoard board = this.resident(session);
+        if (board.outOfBounds(row, col)) {
+            throw new IllegalArgumentException("Cell (" + row + ", " + col + ") is not on the board");
+        }
+        boolean hitMine = switch (move) {
+            case UNCOVER -> board.uncover(row, col);
+            case CHORD -> board.chord(row, col);
+            case FLAG -> {
+                board.flagCell(row, col);
+                yield false;
+            }
+            default -> throw new IllegalArgumentException("Unsupported move: " + move);
+        };
+        int[] changes = board.getLastChanges();
+        boolean cleared = !hitMine && board.getLegalCells().isEmpty();
+        session.finished = hitMine || cleared;
+        session.lastUsed = System.nanoTime();
+        MOVE_TIME.recordSince(start);
+        return new MoveQueue.MoveResult(++session.moves, hitMine, cleared, changes);
+    }
+
+    // runs on the session's queue
+    private boolean evict(Session session, long idleNanos) {
+        long now = System.nanoTime();
+        if (session.board == null || now - session.lastUsed < idleNanos || !this.sessions.containsKey(session.id)) {
+            return false;
+        }
+        try {
+            int elapsedSeconds = (int) TimeUnit.NANOSECONDS.toSeconds(now - session.openedAt);
+            BoardSnapshot.save(new BoardSnapshot(session.board, elapsedSeconds).toBytes(), this.snapshotPath(session));
+        } catch (IOException e) {
+            // the board stays in memory and is tried again next time
+            e.printStackTrace();
+            return false;
+        }
+        session.board = null;
+        EVICTIONS.increment();
+        return true;
+    }
+
+    // the session's board, loaded back from its snapshot if it was evicted; runs on the session's queue
+    private MinefieldBoard resident(Session session) {
+        if (session.board == null) {
+            if (!this.sessions.containsKey(session.id)) {
+                throw new IllegalStateException("Session " + session.id + " is closed");
+            }
+            try {
+                Path path = this.snapshotPath(session);
+                session.board = BoardSnapshot.load(path).board();
+                Files.delete(path);
+                RESTORES.increment();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        session.lastUsed = System.nanoTime();
+        return session.board;
+    }
+
+    private Session session(long sessionId) {
+        if (this.closed) {
+            throw new IllegalStateException("Game server is closed");
+        }
+        Session session = this.sessions.get(sessionId);
+        if (session == null) {
+            throw new IllegalArgumentException("No such session: " + sessionId);
+        }
+        return session;
+    }
+
+    private Path snapshotPath(Session session) {
+        return this.snapshotDirectory.resolve(session.id + ".snapshot");
+    }
+}
@@ -0,0 +1,123 @@
+package com.cameronterry.minesweeper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+
+/**
+ * GameServerSocket: A line-based text protocol for a GameServer on a loopback port.
+ * <p>
+ * Every request and reply is one line:
+ * <pre>
+ *   OPEN rows cols mines                  OK session
+ *   UNCOVER|FLAG|CHORD session row col    OK move hitMine cleared change...
+ *   VIEW session                          OK rows cols cells
+ *   CLOSE session                         OK
+ * </pre>
+ * Changes are packed as in BoardHistory. The cells of a view are one character each in row-major
+ * order: '-' covered, 'F' flagged, 'X' an uncovered mine, otherwise the uncovered number.
+ * A request that fails gets {@code ERR message}. Each connection is served on its own virtual thread.
+ */
+public final class GameServerSocket implements Closeable {
+    private final GameServer server;
+    private final ServerSocket serverSocket;
+    private final Thread acceptor;
+
+    /**
+     * Listens on the given loopback port, or any free one for 0.
+     */
+    public GameServerSocket(GameServer server, int port) throws IOException {
+        this.server = server;
+        this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        this.acceptor = Thread.ofVirtual().name("game-server-accept").start(this::accept);
+    }
+
+    public int getPort() {
+        return this.serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.serverSocket.close();
+        this.acceptor.interrupt();
+    }
+
+    private void accept() {
+        try {
+            while (true) {
+                Socket socket = this.serverSocket.accept();
+                Thread.ofVirtual().name("game-server-connection").start(() -> this.serve(socket));
+            }
+        } catch (IOException e) {
+            // closed
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                out.println(this.handle(line.trim().split("\\s+")));
+            }
+        } catch (IOException e) {
+            // the client went away
+        }
+    }
+
+    String handle(String[] request) {
+        try {
+            switch (request[0].toUpperCase()) {
+                case "OPEN" -> {
+                    return "OK " + this.server.open(Integer.parseInt(request[1]), Integer.parseInt(request[2]),
+                            Integer.parseInt(request[3]));
+                }
+                case "UNCOVER", "FLAG", "CHORD" -> {
+                    MoveQueue.MoveResult result = this.server.submit(Long.parseLong(request[1]),
+                            GameReplay.Move.valueOf(request[0].toUpperCase()),
+                            Integer.parseInt(request[2]), Integer.parseInt(request[3])).join();
+                    StringBuilder reply = new StringBuilder("OK ").append(result.move())
+                            .append(' ').append(result.hitMine()).append(' ').append(result.cleared());
+                    for (int change : result.changes()) {
+                        reply.append(' ').append(change);
+                    }
+                    return reply.toString();
+                }
+                case "VIEW" -> {
+                    BoardView view = this.server.view(Long.parseLong(request[1])).join();
+                    StringBuilder cells = new StringBuilder(view.getRows() * view.getCols());
+                    for (int r = 0; r < view.getRows(); r++) {
+                        for (int c = 0; c < view.getCols(); c++) {
+                            cells.append(switch (view.getState(r, c)) {
+                                case COVERED -> '-';
+                                case FLAGGED -> 'F';
+                                case UNCOVERED -> view.getValue(r, c) == CellValue.MINE.getValue()
+                                        ? 'X' : (char) ('0' + view.getValue(r, c));
+                            });
+                        }
+                    }
+                    return "OK " + view.getRows() + " " + view.getCols() + " " + cells;
+                }
+                case "CLOSE" -> {
+                    this.server.close(Long.parseLong(request[1]));
+                    return "OK";
+                }
+                default -> {
+                    return "ERR Unknown request: " + request[0];
+                }
+            }
+        } catch (CompletionException e) {
+            return "ERR " + e.getCause().getMessage();
+        } catch (RuntimeException e) {
+            return "ERR " + e;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.cameronterry.minesweeper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * GameStatistics: Per-configuration aggregates over a game history.
+ * <p>
+ * Accumulators are mergeable, so a log is aggregated by scanning its record-aligned ranges in
+ * parallel and merging the partial results; no list of records is ever built.
+ */
+public class GameStatistics {
+    public record Configuration(int rows, int cols, int numMines) {
+        @Override
+        public String toString() {
+            return String.format("(%d, %d) → %d", rows, cols, numMines);
+        }
+    }
+
+    /**
+     * Aggregates for one board configuration.
+     */
+    public static class ConfigurationStats {
+        private int gamesPlayed = 0;
+        private int[] finalTimes = new int[16];
+        private boolean sorted = true;
+        private final int[] highestNumberCounts = new int[9];
+        private final TreeMap<LocalDate, Integer> gamesPerDay = new TreeMap<>();
+
+        void add(GameRecord record) {
+            if (this.gamesPlayed == this.finalTimes.length) {
+                this.finalTimes = Arrays.copyOf(this.finalTimes, this.gamesPlayed * 2);
+            }
+            this.finalTimes[this.gamesPlayed++] = record.getFinalTime();
+            this.sorted = false;
+
+            int highestNumber = record.getHighestNumber();
+            if (highestNumber >= 0 && highestNumber < this.highestNumberCounts.length) {
+                this.highestNumberCounts[highestNumber]++;
+            }
+            if (record.getDateTime() != null) {
+                this.gamesPerDay.merge(record.getDateTime().toLocalDate(), 1, Integer::sum);
+            }
+        }
+
+        ConfigurationStats merge(ConfigurationStats other) {
+            int total = this.gamesPlayed + other.gamesPlayed;
+            if (total > this.finalTimes.length) {
+                this.finalTimes = Arrays.copyOf(this.finalTimes, total);
+            }
+            System.arraycopy(other.finalTimes, 0, this.finalTimes, this.gamesPlayed, other.gamesPlayed);
+            this.gamesPlayed = total;
+            this.sorted = false;
+
+            for (int i = 0; i < this.highestNumberCounts.length; i++) {
+                this.highestNumberCounts[i] += other.highestNumberCounts[i];
+            }
+            other.gamesPerDay.forEach((day, games) -> this.gamesPerDay.merge(day, games, Integer::sum));
+            return this;
+        }
+
+        public int getGamesPlayed() {
+            return this.gamesPlayed;
+        }
+
+        public int getBestTime() {
+            return this.percentileTime(0);
+        }
+
+        public int getMedianTime() {
+            return this.percentileTime(50);
+        }
+
+        /**
+         * Nearest-rank percentile of the final times; 0 gives the best time.
+         */
+        public int percentileTime(double percentile) {
+            if (this.gamesPlayed == 0) {
+                return 0;
+            }
+            if (!this.sorted) {
+                Arrays.sort(this.finalTimes, 0, this.gamesPlayed);
+                this.sorted = true;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * this.gamesPlayed);
+            return this.finalTimes[Math.max(0, Math.min(this.gamesPlayed, rank) - 1)];
+        }
+
+        public int[] getHighestNumberCounts() {
+            return this.highestNumberCounts;
+        }
+
+        public TreeMap<LocalDate, Integer> getGamesPerDay() {
+            return this.gamesPerDay;
+        }
+    }
+
+    private final Map<Configuration, ConfigurationStats> byConfiguration = new HashMap<>();
+    private int skippedRecords = 0;
+
+    void add(GameRecord record) {
+        Configuration configuration = new Configuration(record.getRows(), record.getCols(), record.getNumMines());
+        this.byConfiguration.computeIfAbsent(configuration, k -> new ConfigurationStats()).add(record);
+    }
+
+    GameStatistics merge(GameStatistics other) {
+        other.byConfiguration.forEach((configuration, stats) ->
+                this.byConfiguration.merge(configuration, stats, ConfigurationStats::merge));
+        this.skippedRecords += other.skippedRecords;
+        return this;
+    }
+
+    /**
+     * Records in the log that could not be read and are left out of the aggregates.
+     */
+    public int getSkippedRecords() {
+        return this.skippedRecords;
+    }
+
+    ConfigurationStats get(Configuration configuration) {
+        return this.byConfiguration.get(configuration);
+    }
+
+    /**
+     * Configurations, most played first.
+     */
+    public List<Map.Entry<Configuration, ConfigurationStats>> getEntries() {
+        return this.byConfiguration.entrySet().stream()
+                .sorted(Comparator.comparingInt((Map.Entry<Configuration, ConfigurationStats> e) -> e.getValue().getGamesPlayed()).reversed())
+                .toList();
+    }
+
+    /**
+     * Aggregates a whole game log, scanning its ranges in parallel.
+     *
+     * @throws UncheckedIOException if the log cannot be read
+     */
+    public static GameStatistics compute(String fileName, GameLogWriter.RecordFormat format) {
+        if (!Files.exists(Path.of(fileName))) {
+            return new GameStatistics();
+        }
+
+        int parts = Runtime.getRuntime().availableProcessors() * 4;
+        try {
+            return MappedGameLog.split(fileName, format, parts).parallelStream()
+                    .map(range -> {
+                        GameStatistics partial = new GameStatistics();
+                        try {
+                            partial.skippedRecords = MappedGameLog.scan(fileName, format, range, partial::add);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        return partial;
+                    })
+                    .reduce(GameStatistics::merge)
+                    .orElseGet(GameStatistics::new);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
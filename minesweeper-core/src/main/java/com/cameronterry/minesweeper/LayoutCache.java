@@ -0,0 +1,291 @@
+package com.cameronterry.minesweeper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * LayoutCache: Pre-validated no-guess layouts on disk, keyed by configuration and generator version.
+ * <p>
+ * The file is filled offline by {@link #main} and memory-mapped when the game starts. Each
+ * configuration has one section; taking a layout consumes the last remaining one in place and
+ * stamps the section as used. Filling rewrites the file and evicts the least recently used
+ * sections once it grows past its size limit.
+ * <p>
+ * Layout (integers are big-endian):
+ * <pre>
+ *   magic "MSLC" | version (1 byte)
+ *   per section: rows (1) | cols (1) | numMines (2) | generator version (2) | last used, epoch millis (8)
+ *                capacity (4) | remaining (4) | capacity x (seed (8) | mine layout bits)
+ * </pre>
+ */
+class LayoutCache implements Closeable {
+    static final int VERSION = 1;
+    static final String DEFAULT_FILE = "no_guess_layouts.bin";
+    static final long DEFAULT_MAX_BYTES = 4L << 20;
+
+    private static final byte[] MAGIC = {'M', 'S', 'L', 'C'};
+    static final int HEADER_SIZE = MAGIC.length + 1;
+    // a section is this header followed by capacity x Key.layoutSize() bytes
+    static final int SECTION_HEADER_SIZE = 22;
+    private static final int LAST_USED = 6, CAPACITY = 14, REMAINING = 18;
+
+    record Key(int rows, int cols, int numMines, int generatorVersion) {
+        int layoutSize() {
+            return Long.BYTES + GameRecordCodec.bitSetLength(this.rows * this.cols);
+        }
+    }
+
+    private record Section(Key key, long lastUsed, List<byte[]> layouts) {
+    }
+
+    private final MappedByteBuffer buffer;
+    // section header offsets by key
+    private final Map<Key, Integer> sections = new HashMap<>();
+
+    private LayoutCache(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer == null) {
+            return;
+        }
+        int offset = HEADER_SIZE;
+        while (isComplete(buffer, offset)) {
+            Key key = readKey(buffer, offset);
+            this.sections.put(key, offset);
+            offset += SECTION_HEADER_SIZE + buffer.getInt(offset + CAPACITY) * key.layoutSize();
+        }
+    }
+
+    /**
+     * Maps the cache file; a missing or unreadable file gives an empty cache, and a truncated one
+     * only the sections it holds in full.
+     */
+    static LayoutCache open(String fileName) {
+        Path path = Path.of(fileName);
+        if (!Files.exists(path)) {
+            return new LayoutCache(null);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            if (!hasHeader(buffer)) {
+                return new LayoutCache(null);
+            }
+            return new LayoutCache(buffer);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new LayoutCache(null);
+        }
+    }
+
+    /**
+     * Takes one cached layout of the current generator version as a fresh board with its opening uncovered.
+     */
+    synchronized Optional<MinefieldBoard> take(int rows, int cols, int numMines) {
+        Key key = new Key(rows, cols, numMines, NoGuessGenerator.VERSION);
+        Integer offset = this.sections.get(key);
+        if (offset == null) {
+            return Optional.empty();
+        }
+        int remaining = this.buffer.getInt(offset + REMAINING);
+        if (remaining == 0) {
+            return Optional.empty();
+        }
+
+        remaining--;
+        int layoutOffset = offset + SECTION_HEADER_SIZE + remaining * key.layoutSize();
+        long seed = this.buffer.getLong(layoutOffset);
+        boolean[][] mines = readMines(this.buffer, layoutOffset + Long.BYTES, rows, cols);
+        this.buffer.putInt(offset + REMAINING, remaining);
+        this.buffer.putLong(offset + LAST_USED, System.currentTimeMillis());
+
+        return Optional.of(NoGuessGenerator.open(MinefieldBoard.fromLayout(numMines, seed, mines)));
+    }
+
+    synchronized int remaining(int rows, int cols, int numMines) {
+        Integer offset = this.sections.get(new Key(rows, cols, numMines, NoGuessGenerator.VERSION));
+        return offset == null ? 0 : this.buffer.getInt(offset + REMAINING);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (this.buffer != null) {
+            this.buffer.force();
+        }
+    }
+
+    /**
+     * Generates and adds layouts for one configuration, dropping consumed layouts and those of older
+     * generator versions, then evicts least recently used sections until the file fits in maxBytes.
+     */
+    static void fill(String fileName, int rows, int cols, int numMines, int count, long maxBytes) throws IOException {
+        int scaledRows = MinefieldBoard.scaleSide(rows);
+        int scaledCols = MinefieldBoard.scaleSide(cols);
+        Key key = new Key(scaledRows, scaledCols, MinefieldBoard.scaleMines(numMines, scaledRows, scaledCols),
+                NoGuessGenerator.VERSION);
+
+        List<Section> sections = readSections(Path.of(fileName));
+        sections.removeIf(section -> section.key().generatorVersion() != NoGuessGenerator.VERSION);
+        Section target = sections.stream().filter(section -> section.key().equals(key)).findFirst().orElse(null);
+        List<byte[]> layouts = target == null ? new ArrayList<>() : target.layouts();
+        sections.remove(target);
+
+        for (int i = 0; i < count; i++) {
+            MinefieldBoard board = NoGuessGenerator.generate(key.rows(), key.cols(), key.numMines()).orElse(null);
+            if (board == null) {
+                break;
+            }
+            layouts.add(writeLayout(key, board.getSeed(), board.getMines()));
+        }
+        Section filled = new Section(key, System.currentTimeMillis(), layouts);
+
+        // least recently used first; the section just filled is evicted last
+        sections.sort(Comparator.comparingLong(Section::lastUsed));
+        long size = HEADER_SIZE + sectionSize(filled);
+        for (Section section : sections) {
+            size += sectionSize(section);
+        }
+        while (size > maxBytes && !sections.isEmpty()) {
+            size -= sectionSize(sections.remove(0));
+        }
+        while (size > maxBytes && !layouts.isEmpty()) {
+            layouts.remove(layouts.size() - 1);
+            size -= key.layoutSize();
+        }
+        sections.add(filled);
+
+        writeSections(Path.of(fileName), sections);
+    }
+
+    /**
+     * Batch job: {@code LayoutCache <file> <rows> <cols> <mines> <count> [maxBytes]}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 5) {
+            System.err.println("Usage: LayoutCache <file> <rows> <cols> <mines> <count> [maxBytes]");
+            System.exit(1);
+        }
+        long maxBytes = args.length > 5 ? Long.parseLong(args[5]) : DEFAULT_MAX_BYTES;
+        fill(args[0], Integer.parseInt(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]),
+                Integer.parseInt(args[4]), maxBytes);
+    }
+
+    private static List<Section> readSections(Path path) throws IOException {
+        List<Section> sections = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return sections;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (!hasHeader(buffer)) {
+            return sections;
+        }
+
+        int offset = HEADER_SIZE;
+        while (isComplete(buffer, offset)) {
+            Key key = readKey(buffer, offset);
+            int capacity = buffer.getInt(offset + CAPACITY);
+            int remaining = buffer.getInt(offset + REMAINING);
+            List<byte[]> layouts = new ArrayList<>(remaining);
+            for (int i = 0; i < remaining; i++) {
+                byte[] layout = new byte[key.layoutSize()];
+                buffer.get(offset + SECTION_HEADER_SIZE + i * key.layoutSize(), layout);
+                layouts.add(layout);
+            }
+            sections.add(new Section(key, buffer.getLong(offset + LAST_USED), layouts));
+            offset += SECTION_HEADER_SIZE + capacity * key.layoutSize();
+        }
+        return sections;
+    }
+
+    // written next to the cache and moved over it, so a running game keeps its mapping of the old file
+    private static void writeSections(Path path, List<Section> sections) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(MAGIC);
+        out.write(VERSION);
+        for (Section section : sections) {
+            Key key = section.key();
+            ByteBuffer header = ByteBuffer.allocate(SECTION_HEADER_SIZE);
+            header.put((byte) key.rows()).put((byte) key.cols()).putShort((short) key.numMines())
+                    .putShort((short) key.generatorVersion()).putLong(section.lastUsed())
+                    .putInt(section.layouts().size()).putInt(section.layouts().size());
+            out.writeBytes(header.array());
+            section.layouts().forEach(out::writeBytes);
+        }
+
+        Path temporary = Path.of(path + ".tmp");
+        Files.write(temporary, out.toByteArray());
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static boolean hasHeader(ByteBuffer buffer) {
+        if (buffer.limit() < HEADER_SIZE) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(i) != MAGIC[i]) {
+                return false;
+            }
+        }
+        return buffer.get(MAGIC.length) == VERSION;
+    }
+
+    // whether a whole section starts at offset; a truncated file is read up to its last complete section
+    private static boolean isComplete(ByteBuffer buffer, int offset) {
+        if (offset + SECTION_HEADER_SIZE > buffer.limit()) {
+            return false;
+        }
+        int capacity = buffer.getInt(offset + CAPACITY);
+        int remaining = buffer.getInt(offset + REMAINING);
+        if (capacity < 0 || remaining < 0 || remaining > capacity) {
+            return false;
+        }
+        long end = offset + SECTION_HEADER_SIZE + (long) capacity * readKey(buffer, offset).layoutSize();
+        return end <= buffer.limit();
+    }
+
+    private static Key readKey(ByteBuffer buffer, int offset) {
+        return new Key(buffer.get(offset) & 0xFF, buffer.get(offset + 1) & 0xFF,
+                buffer.getShort(offset + 2) & 0xFFFF, buffer.getShort(offset + 4) & 0xFFFF);
+    }
+
+    private static long sectionSize(Section section) {
+        return SECTION_HEADER_SIZE + (long) section.layouts().size() * section.key().layoutSize();
+    }
+
+    private static byte[] writeLayout(Key key, long seed, boolean[][] mines) {
+        ByteBuffer layout = ByteBuffer.allocate(key.layoutSize());
+        layout.putLong(seed);
+        for (int r = 0; r < key.rows(); r++) {
+            for (int c = 0; c < key.cols(); c++) {
+                int index = r * key.cols() + c;
+                if (mines[r][c]) {
+                    layout.put(Long.BYTES + (index >> 3), (byte) (layout.get(Long.BYTES + (index >> 3)) | 1 << (index & 7)));
+                }
+            }
+        }
+        return layout.array();
+    }
+
+    private static boolean[][] readMines(ByteBuffer buffer, int offset, int rows, int cols) {
+        boolean[][] mines = new boolean[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int index = r * cols + c;
+                mines[r][c] = (buffer.get(offset + (index >> 3)) & (1 << (index & 7))) != 0;
+            }
+        }
+        return mines;
+    }
+}
@@ -0,0 +1,387 @@
+package com.cameronterry.minesweeper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * MappedGameLog: Scans game logs through memory-mapped regions of the file.
+ * <p>
+ * A log is split into record-aligned ranges (at line boundaries for JSON lines, at frame boundaries
+ * for length-prefixed binary records) which can be mapped and scanned independently, in parallel.
+ * JSON records are parsed for their summary fields directly out of the mapped bytes; their board
+ * arrays are read from the file on demand, as with the streaming loader.
+ */
+class MappedGameLog {
+    // a single mapping cannot exceed 2 GB, keep ranges well below that
+    static final long MAX_RANGE_SIZE = 1L << 30;
+
+    record LogRange(long start, long end) {
+        long size() {
+            return this.end - this.start;
+        }
+    }
+
+    private static final LongAdder MALFORMED_RECORDS = Metrics.counter("log.malformedRecords");
+
+    private static final byte[] BOARD_SIZE = key("boardSize");
+    private static final byte[] HIGHEST_NUMBER = key("highestNumber");
+    private static final byte[] FINAL_TIME = key("finalTime");
+    private static final byte[] DATE_TIME = key("dateTime");
+
+    private MappedGameLog() {
+    }
+
+    /**
+     * Splits the log into about {@code parts} record-aligned ranges, each small enough to map.
+     */
+    static List<LogRange> split(String fileName, GameLogWriter.RecordFormat format, int parts) throws IOException {
+        List<LogRange> ranges = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return ranges;
+            }
+            long targetSize = Math.min(MAX_RANGE_SIZE, Math.max(1, (size + parts - 1) / parts));
+
+            if (format == GameLogWriter.RecordFormat.JSON_LINES) {
+                long start = 0;
+                while (start < size) {
+                    long end = nextLineStart(channel, Math.min(size, start + targetSize), size);
+                    ranges.add(new LogRange(start, end));
+                    start = end;
+                }
+            } else {
+                splitFrames(channel, size, targetSize, ranges);
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Maps one range and hands every record in it to the consumer, in file order.
+     * A torn record at the very end of the log is left out silently; a malformed JSON line anywhere
+     * else is skipped and counted, so one bad record does not hide the rest of the history.
+     *
+     * @return the number of malformed records skipped
+     */
+    static int scan(String fileName, GameLogWriter.RecordFormat format, LogRange range,
+                     Consumer<GameRecord> consumer) throws IOException {
+        MappedByteBuffer buffer;
+        boolean lastRange;
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, range.start(), range.size());
+            lastRange = range.end() >= channel.size();
+        }
+
+        int skipped = 0;
+        if (format == GameLogWriter.RecordFormat.JSON_LINES) {
+            int lineStart = 0;
+            int limit = buffer.limit();
+            for (int position = 0; position <= limit; position++) {
+                if (position < limit && buffer.get(position) != '\n') {
+                    continue;
+                }
+                int lineEnd = position;
+                while (lineEnd > lineStart && isWhitespace(buffer.get(lineEnd - 1))) {
+                    lineEnd--;
+                }
+                if (lineEnd > lineStart) {
+                    long offset = range.start() + lineStart;
+                    int length = lineEnd - lineStart;
+                    GameRecord record;
+                    try {
+                        record = readSummary(buffer, lineStart, lineEnd,
+                                () -> MinesweeperGameLoader.readRecordAt(fileName, offset, length));
+                    } catch (RuntimeException e) {
+                        // a crash mid-write tears the last line of the log, that one is expected
+                        if (!(lastRange && isBlank(buffer, position, limit))) {
+                            skipped++;
+                        }
+                        lineStart = position + 1;
+                        continue;
+                    }
+                    consumer.accept(record);
+                }
+                lineStart = position + 1;
+            }
+        } else {
+            while (buffer.hasRemaining()) {
+                int recordLength = readFrameLength(buffer);
+                if (recordLength < 0 || recordLength > buffer.remaining()) {
+                    // a record torn by a crash mid-write can only be the last one; stop before it
+                    break;
+                }
+                ByteBuffer record = buffer.slice(buffer.position(), recordLength);
+                consumer.accept(GameRecordCodec.decode(record));
+                buffer.position(buffer.position() + recordLength);
+            }
+        }
+
+        MALFORMED_RECORDS.add(skipped);
+        return skipped;
+    }
+
+    /**
+     * All records of the log, in file order; ranges are scanned in parallel when asked to.
+     */
+    static Stream<GameRecord> stream(String fileName, GameLogWriter.RecordFormat format, boolean parallel) throws IOException {
+        int parts = parallel ? Runtime.getRuntime().availableProcessors() * 4 : 1;
+        List<LogRange> ranges = split(fileName, format, parts);
+        Stream<LogRange> rangeStream = parallel ? ranges.parallelStream() : ranges.stream();
+
+        return rangeStream.flatMap(range -> {
+            List<GameRecord> records = new ArrayList<>();
+            try {
+                scan(fileName, format, range, records::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return records.stream();
+        });
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(8192);
+        while (position < size) {
+            window.clear();
+            int read = channel.read(window, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (window.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static void splitFrames(FileChannel channel, long size, long targetSize, List<LogRange> ranges) throws IOException {
+        long rangeStart = 0;
+        long position = 0;
+        long windowStart = 0;
+        MappedByteBuffer window = map(channel, 0, size);
+
+        // only the length prefixes are read, records themselves are skipped over
+        while (position < size) {
+            long windowEnd = windowStart + window.limit();
+            if (position + 5 > windowEnd && windowEnd < size) {
+                windowStart = position;
+                window = map(channel, windowStart, size);
+            }
+            window.position((int) (position - windowStart));
+            int recordLength = readFrameLength(window);
+            if (recordLength < 0) {
+                break;
+            }
+            long next = windowStart + window.position() + recordLength;
+
+            if (position > rangeStart && next - rangeStart > targetSize) {
+                ranges.add(new LogRange(rangeStart, position));
+                rangeStart = position;
+            }
+            position = next;
+        }
+        ranges.add(new LogRange(rangeStart, size));
+    }
+
+    // the length prefix at the buffer's position, or -1 if the file ends inside it
+    private static int readFrameLength(ByteBuffer buffer) {
+        try {
+            return GameRecordCodec.readVarInt(buffer);
+        } catch (BufferUnderflowException e) {
+            return -1;
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long start, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size - start, MAX_RANGE_SIZE));
+    }
+
+    /**
+     * Parses the summary fields of one JSON record held in buffer[start, end), skipping all other values.
+     */
+    static GameRecord readSummary(ByteBuffer buffer, int start, int end, Supplier<GameRecord> details) {
+        int rows = 0, cols = 0, numMines = 0, highestNumber = 0, finalTime = 0;
+        LocalDateTime dateTime = null;
+
+        int[] position = {skipWhitespace(buffer, start, end)};
+        expect(buffer, position, '{');
+        while (true) {
+            position[0] = skipWhitespace(buffer, position[0], end);
+            byte b = buffer.get(position[0]);
+            if (b == '}') {
+                break;
+            }
+            if (b == ',') {
+                position[0]++;
+                continue;
+            }
+
+            int keyStart = position[0];
+            position[0] = skipString(buffer, keyStart, end);
+            int keyEnd = position[0];
+            position[0] = skipWhitespace(buffer, position[0], end);
+            expect(buffer, position, ':');
+            position[0] = skipWhitespace(buffer, position[0], end);
+
+            if (matches(buffer, keyStart, keyEnd, BOARD_SIZE)) {
+                expect(buffer, position, '[');
+                rows = readInt(buffer, position, end);
+                cols = readInt(buffer, position, end);
+                numMines = readInt(buffer, position, end);
+                while (buffer.get(position[0]) != ']') {
+                    position[0]++;
+                }
+                position[0]++;
+            } else if (matches(buffer, keyStart, keyEnd, HIGHEST_NUMBER)) {
+                highestNumber = readInt(buffer, position, end);
+            } else if (matches(buffer, keyStart, keyEnd, FINAL_TIME)) {
+                finalTime = readInt(buffer, position, end);
+            } else if (matches(buffer, keyStart, keyEnd, DATE_TIME)) {
+                int valueEnd = skipString(buffer, position[0], end);
+                byte[] value = new byte[valueEnd - position[0] - 2];
+                buffer.get(position[0] + 1, value);
+                dateTime = LocalDateTime.parse(new String(value, StandardCharsets.US_ASCII), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+                position[0] = valueEnd;
+            } else {
+                position[0] = skipValue(buffer, position[0], end);
+            }
+        }
+
+        return new GameRecord(rows, cols, numMines, highestNumber, finalTime, dateTime, details);
+    }
+
+    private static byte[] key(String name) {
+        return ("\"" + name + "\"").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static boolean matches(ByteBuffer buffer, int start, int end, byte[] key) {
+        if (end - start != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(start + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    private static boolean isBlank(ByteBuffer buffer, int start, int end) {
+        for (int position = start; position < end; position++) {
+            if (!isWhitespace(buffer.get(position))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipWhitespace(ByteBuffer buffer, int position, int end) {
+        while (position < end && isWhitespace(buffer.get(position))) {
+            position++;
+        }
+        if (position >= end) {
+            throw new IllegalArgumentException("Truncated game record");
+        }
+        return position;
+    }
+
+    private static void expect(ByteBuffer buffer, int[] position, char expected) {
+        if (buffer.get(position[0]) != expected) {
+            throw new IllegalArgumentException("Malformed game record: expected '" + expected + "' at " + position[0]);
+        }
+        position[0]++;
+    }
+
+    // returns the position just after the closing quote of the string starting at position
+    private static int skipString(ByteBuffer buffer, int position, int end) {
+        position++;
+        while (position < end) {
+            byte b = buffer.get(position++);
+            if (b == '\\') {
+                position++;
+            } else if (b == '"') {
+                return position;
+            }
+        }
+        throw new IllegalArgumentException("Truncated game record");
+    }
+
+    // returns the position just after the value starting at position
+    private static int skipValue(ByteBuffer buffer, int position, int end) {
+        int depth = 0;
+        while (position < end) {
+            byte b = buffer.get(position);
+            if (b == '"') {
+                position = skipString(buffer, position, end);
+                if (depth == 0) {
+                    return position;
+                }
+                continue;
+            }
+            if (b == '[' || b == '{') {
+                depth++;
+            } else if (b == ']' || b == '}') {
+                if (depth == 0) {
+                    return position;
+                }
+                depth--;
+                if (depth == 0) {
+                    return position + 1;
+                }
+            } else if (b == ',' && depth == 0) {
+                return position;
+            }
+            position++;
+        }
+        return position;
+    }
+
+    // reads the next integer at or after position, leaving position just after it
+    private static int readInt(ByteBuffer buffer, int[] position, int end) {
+        int p = position[0];
+        while (p < end && buffer.get(p) != '-' && (buffer.get(p) < '0' || buffer.get(p) > '9')) {
+            p++;
+        }
+        boolean negative = p < end && buffer.get(p) == '-';
+        if (negative) {
+            p++;
+        }
+        int value = 0;
+        while (p < end && buffer.get(p) >= '0' && buffer.get(p) <= '9') {
+            value = value * 10 + (buffer.get(p) - '0');
+            p++;
+        }
+        // tolerate numbers written as doubles, e.g. 10.0
+        if (p < end && buffer.get(p) == '.') {
+            p++;
+            while (p < end && buffer.get(p) >= '0' && buffer.get(p) <= '9') {
+                p++;
+            }
+        }
+        position[0] = p;
+        return negative ? -value : value;
+    }
+}
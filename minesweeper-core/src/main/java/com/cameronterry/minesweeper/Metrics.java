@@ -0,0 +1,176 @@
+package com.cameronterry.minesweeper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics: Process-wide registry of latency histograms and event counters for the hot paths.
+ * <p>
+ * Histograms use log-linear buckets (8 per power of two, so values are kept to within 12.5%)
+ * in an AtomicLongArray, and counters are LongAdders: recording never locks or allocates, and
+ * threads recording the same metric do not contend beyond a single atomic increment.
+ * Callers keep the metrics they record in static final fields.
+ */
+public class Metrics {
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    public record Summary(String name, long count, double mean, long p50, long p90, long p99, long max) {
+    }
+
+    public static class Histogram {
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+        private final String name;
+        private final AtomicLongArray buckets = new AtomicLongArray((Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS);
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        private Histogram(String name) {
+            this.name = name;
+        }
+
+        void record(long value) {
+            value = Math.max(0, value);
+            this.buckets.incrementAndGet(bucketIndex(value));
+            this.total.add(value);
+            long currentMax = this.max.get();
+            // only retried while a new maximum is being raced in
+            while (value > currentMax && !this.max.compareAndSet(currentMax, value)) {
+                currentMax = this.max.get();
+            }
+        }
+
+        /**
+         * Records the nanoseconds elapsed since a System.nanoTime() taken by the caller.
+         */
+        public void recordSince(long startNanos) {
+            this.record(System.nanoTime() - startNanos);
+        }
+
+        Summary summary() {
+            long[] counts = new long[this.buckets.length()];
+            long count = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = this.buckets.get(i);
+                count += counts[i];
+            }
+            long max = this.max.get();
+            double mean = count == 0 ? 0 : (double) this.total.sum() / count;
+            return new Summary(this.name, count, mean, percentile(counts, count, 50, max),
+                    percentile(counts, count, 90, max), percentile(counts, count, 99, max), max);
+        }
+
+        public void reset() {
+            for (int i = 0; i < this.buckets.length(); i++) {
+                this.buckets.set(i, 0);
+            }
+            this.total.reset();
+            this.max.set(0);
+        }
+
+        // values below SUB_BUCKETS are exact, each power of two above is split into SUB_BUCKETS buckets
+        static int bucketIndex(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        // highest value that falls into the bucket
+        static long bucketUpperBound(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            long lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+            return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+        }
+
+        private static long percentile(long[] counts, long count, double percentile, long max) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), max);
+                }
+            }
+            return max;
+        }
+    }
+
+    public static Histogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, Histogram::new);
+    }
+
+    static LongAdder counter(String name) {
+        return COUNTERS.computeIfAbsent(name, k -> new LongAdder());
+    }
+
+    /**
+     * Summaries of every histogram, by name.
+     */
+    public static List<Summary> summaries() {
+        List<Summary> summaries = new ArrayList<>();
+        new TreeMap<>(HISTOGRAMS).values().forEach(histogram -> summaries.add(histogram.summary()));
+        return summaries;
+    }
+
+    /**
+     * Current value of every counter, by name.
+     */
+    public static Map<String, Long> counters() {
+        Map<String, Long> counters = new TreeMap<>();
+        COUNTERS.forEach((name, counter) -> counters.put(name, counter.sum()));
+        return counters;
+    }
+
+    public static void reset() {
+        HISTOGRAMS.values().forEach(Histogram::reset);
+        COUNTERS.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Appends the table from format() to a text file.
+     */
+    public static void dump(Path path) throws IOException {
+        Files.writeString(path, format(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Every histogram (in microseconds) and counter as a text table.
+     */
+    public static String format() {
+        StringBuilder out = new StringBuilder("# Minesweeper metrics " + LocalDateTime.now() + System.lineSeparator());
+        out.append(String.format("%-28s %10s %10s %10s %10s %10s %10s%n", "histogram (us)", "count", "mean", "p50", "p90", "p99", "max"));
+        for (Summary summary : summaries()) {
+            out.append(String.format("%-28s %10d %10.1f %10.1f %10.1f %10.1f %10.1f%n", summary.name(), summary.count(),
+                    summary.mean() / 1000, summary.p50() / 1000.0, summary.p90() / 1000.0,
+                    summary.p99() / 1000.0, summary.max() / 1000.0));
+        }
+        out.append(String.format("%-28s %10s%n", "counter", "value"));
+        counters().forEach((name, value) -> out.append(String.format("%-28s %10d%n", name, value)));
+        return out.toString();
+    }
+}
@@ -0,0 +1,709 @@
+package com.cameronterry.minesweeper;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Random;
+
+public class MinefieldBoard {
+    private static final int[][] DIRECTIONS = {{-1, -1}, {-1, 0}, {-1, 1},
+                                               {0, -1}, {0, 1},
+                                               {1, -1}, {1, 0}, {1, 1}};
+
+    private static final Metrics.Histogram CONSTRUCT_TIME = Metrics.histogram("board.construct");
+    private static final Metrics.Histogram RESTORE_TIME = Metrics.histogram("board.restore");
+    private static final Metrics.Histogram UNCOVER_TIME = Metrics.histogram("board.uncover");
+    private static final Metrics.Histogram CHORD_TIME = Metrics.histogram("board.chord");
+    private static final Metrics.Histogram COVERAGE_CACHE_TIME = Metrics.histogram("board.updateCellCoverageCache");
+
+    public MinefieldBoard(int rows, int cols, int numMines) {
+        this(rows, cols, numMines, new Random().nextLong());
+    }
+
+    /**
+     * Board whose mine layout is fully determined by the seed.
+     */
+    public MinefieldBoard(int rows, int cols, int numMines, long seed) {
+        GameEvents.BoardGeneration event = new GameEvents.BoardGeneration();
+        event.begin();
+        long start = System.nanoTime();
+        // parameter scaling
+        rows = scaleSide(rows);
+        cols = scaleSide(cols);
+        numMines = scaleMines(numMines, rows, cols);
+
+        this.rows = rows;
+        this.cols = cols;
+        this.numMines = numMines;
+        this.seed = seed;
+        this.random = new Random(seed);
+        this.board = new Cell[rows][cols];
+        this.mines = new boolean[rows][cols];
+
+        // caching data structures, indexed by cellIndex
+        this.uncoveredCells = new BitSet(rows * cols);
+        this.coveredCells = new BitSet(rows * cols);
+        this.flaggedCells = new BitSet(rows * cols);
+        this.mineCache = new BitSet(rows * cols);
+
+        this.visited = new BitSet(rows * cols); // for explore
+
+        // setup board
+        this.initializeBoardCells();
+        this.initializeMines();
+        this.generateSolution();
+        this.coverCells();
+        CONSTRUCT_TIME.recordSince(start);
+
+        if (event.shouldCommit()) {
+            event.rows = rows;
+            event.cols = cols;
+            event.numMines = numMines;
+            event.attempts = 1;
+            event.found = true;
+            event.commit();
+        }
+    }
+
+    // restores a board from a stored layout, skipping mine placement and solution generation
+    private MinefieldBoard(int rows, int cols, int numMines, long seed, boolean[][] mines, CellState[][] states) {
+        long start = System.nanoTime();
+        this.rows = rows;
+        this.cols = cols;
+        this.numMines = numMines;
+        this.seed = seed;
+        this.random = new Random(seed);
+        this.board = new Cell[rows][cols];
+        this.mines = mines;
+
+        this.uncoveredCells = new BitSet(rows * cols);
+        this.coveredCells = new BitSet(rows * cols);
+        this.flaggedCells = new BitSet(rows * cols);
+        this.mineCache = new BitSet(rows * cols);
+
+        this.visited = new BitSet(rows * cols);
+
+        int[][] values = GameRecordCodec.neighborValues(mines);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                this.board[r][c] = new Cell(states[r][c], CellValue.values()[values[r][c] + 1]);
+                if (mines[r][c]) {
+                    this.mineCache.set(this.cellIndex(r, c));
+                }
+            }
+        }
+        this.updateCellCoverageCache();
+        RESTORE_TIME.recordSince(start);
+    }
+
+    /**
+     * Builds a board directly from a mine layout and cell states in O(cells); nothing is generated.
+     */
+    static MinefieldBoard restore(int numMines, long seed, boolean[][] mines, CellState[][] states) {
+        return new MinefieldBoard(mines.length, mines[0].length, numMines, seed, mines, states);
+    }
+
+    /**
+     * Builds a fresh, fully covered board from a stored mine layout, e.g. one from the LayoutCache.
+     */
+    static MinefieldBoard fromLayout(int numMines, long seed, boolean[][] mines) {
+        CellState[][] states = new CellState[mines.length][mines[0].length];
+        for (CellState[] row : states) {
+            Arrays.fill(row, CellState.COVERED);
+        }
+        return restore(numMines, seed, mines, states);
+    }
+
+    /**
+     * Builds the final board of a finished game from its record: every mine flagged, everything else uncovered.
+     */
+    public static MinefieldBoard fromFinishedRecord(GameRecord record) {
+        int[][] boardState = record.getBoardState();
+        boolean[][] mines = new boolean[record.getRows()][record.getCols()];
+        CellState[][] states = new CellState[record.getRows()][record.getCols()];
+
+        for (int r = 0; r < record.getRows(); r++) {
+            for (int c = 0; c < record.getCols(); c++) {
+                mines[r][c] = boardState[r][c] == CellValue.MINE.getValue();
+                states[r][c] = mines[r][c] ? CellState.FLAGGED : CellState.UNCOVERED;
+            }
+        }
+
+        // the seed of a logged game is not recorded
+        return restore(record.getNumMines(), 0L, mines, states);
+    }
+
+    boolean explore(int r, int c) {
+        if (this.outOfBounds(r, c) || this.visited.get(this.cellIndex(r, c))) {
+            return false;
+        }
+        CellState state = this.board[r][c].getState();
+        if (state == CellState.UNCOVERED || state == CellState.FLAGGED) {
+            return false;
+        }
+        if (this.mines[r][c]) {
+            return true;
+        }
+
+        this.visited.set(this.cellIndex(r, c));
+        this.setCellState(r, c, CellState.UNCOVERED);
+
+        if (this.board[r][c].getValue() == CellValue.EMPTY) {
+            int[][] directions = {{0, 1}, {0, -1}, {1, 0}, {-1, 0},
+                    {1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+            for (int[] direction : directions) {
+                this.explore(r + direction[0], c + direction[1]);
+            }
+
+        }
+
+        return false;
+    }
+
+    public boolean uncover(int row, int col) {
+        GameEvents.FloodFill event = new GameEvents.FloodFill();
+        event.begin();
+        long start = System.nanoTime();
+        boolean hitMine;
+        try {
+            hitMine = this.uncoverCells(row, col);
+        } finally {
+            UNCOVER_TIME.recordSince(start);
+        }
+        this.commitFloodFill(event, row, col, false, hitMine);
+        return hitMine;
+    }
+
+    private boolean uncoverCells(int row, int col) {
+        this.visited.clear();
+        this.changeCount = 0;
+        if (this.mines[row][col]) {
+            this.setCellState(row, col, CellState.UNCOVERED);
+            this.visited.set(this.cellIndex(row, col));
+            return true;
+        }
+        if (this.board[row][col].getState() == CellState.UNCOVERED) {
+            return false;
+        }
+
+        boolean res = this.explore(row, col);
+        this.updateCellCoverageCache();
+        return res;
+    }
+
+    /**
+     * Chords on an uncovered number: if as many neighbors are flagged as the number says,
+     * every other covered neighbor is uncovered in one pass with a single cache update.
+     * The cells revealed are available from getLastRevealedCells.
+     *
+     * @return true if a (wrongly flagged around) mine was uncovered
+     */
+    public boolean chord(int row, int col) {
+        GameEvents.FloodFill event = new GameEvents.FloodFill();
+        event.begin();
+        long start = System.nanoTime();
+        boolean hitMine;
+        try {
+            hitMine = this.chordCells(row, col);
+        } finally {
+            CHORD_TIME.recordSince(start);
+        }
+        this.commitFloodFill(event, row, col, true, hitMine);
+        return hitMine;
+    }
+
+    private void commitFloodFill(GameEvents.FloodFill event, int row, int col, boolean chord, boolean hitMine) {
+        if (event.shouldCommit()) {
+            event.row = row;
+            event.col = col;
+            event.chord = chord;
+            event.cellsRevealed = this.visited.cardinality();
+            event.hitMine = hitMine;
+            event.commit();
+        }
+    }
+
+    private boolean chordCells(int row, int col) {
+        this.visited.clear();
+        this.changeCount = 0;
+        Cell cell = this.board[row][col];
+        int cellValue = cell.getValue().getValue();
+        if (cell.getState() != CellState.UNCOVERED || cellValue <= 0) {
+            return false;
+        }
+
+        int flaggedNeighbors = 0;
+        for (int[] direction : DIRECTIONS) {
+            int r = row + direction[0];
+            int c = col + direction[1];
+            if (!this.outOfBounds(r, c) && this.board[r][c].getState() == CellState.FLAGGED) {
+                flaggedNeighbors++;
+            }
+        }
+        if (flaggedNeighbors != cellValue) {
+            return false;
+        }
+
+        boolean hitMine = false;
+        for (int[] direction : DIRECTIONS) {
+            int r = row + direction[0];
+            int c = col + direction[1];
+            if (this.outOfBounds(r, c) || this.board[r][c].getState() != CellState.COVERED) {
+                continue;
+            }
+
+            if (this.mines[r][c]) {
+                this.setCellState(r, c, CellState.UNCOVERED);
+                this.visited.set(this.cellIndex(r, c));
+                hitMine = true;
+            } else {
+                this.explore(r, c);
+            }
+        }
+
+        this.updateCellCoverageCache();
+        return hitMine;
+    }
+
+    /**
+     * Uncovers every safe cell with its number, all computed in one word-parallel Bitboard pass.
+     */
+    void generateSolution() {
+        int[][] values = GameRecordCodec.neighborValues(this.mines);
+        for (int r = 0; r < this.rows; r++) {
+            for (int c = 0; c < this.cols; c++) {
+                if (!this.mines[r][c]) {
+                    this.board[r][c].setCell(CellState.UNCOVERED, CellValue.values()[values[r][c] + 1]);
+                }
+            }
+        }
+        this.visited.clear();
+        this.updateCellCoverageCache();
+    }
+
+    public int getHighestNeighbor() {
+        int highestNeighbor = 0;
+
+        for (int r = 0; r < this.rows; r++) {
+            for (int c = 0; c < this.cols; c++) {
+                int rawCellValue = this.board[r][c].getValue().getValue();
+                highestNeighbor = Math.max(highestNeighbor, rawCellValue);
+            }
+        }
+
+        return highestNeighbor;
+    }
+
+    public void flagCell(int row, int col) {
+        this.changeCount = 0;
+        if (this.board[row][col].getState() == CellState.COVERED) {
+            this.setCellState(row, col, CellState.FLAGGED);
+        } else if (this.board[row][col].getState() == CellState.FLAGGED) {
+            this.setCellState(row, col, CellState.COVERED);
+        }
+        this.updateCellCoverageCache();
+    }
+
+    /**
+     * Changes the state of one cell, recording the change for getLastChanges.
+     * The coverage cache is left to the caller.
+     */
+    public void setCellState(int row, int col, CellState state) {
+        CellState before = this.board[row][col].getState();
+        if (before == state) {
+            return;
+        }
+        if (this.changeCount == this.changes.length) {
+            this.changes = Arrays.copyOf(this.changes, this.changeCount * 2);
+        }
+        this.changes[this.changeCount++] = BoardHistory.change(row * this.cols + col, before, state);
+        this.board[row][col].setState(state);
+        this.version++;
+    }
+
+    /**
+     * Every cell state changed since the start of the last uncover, chord or flagCell,
+     * including changes made through setCellState afterwards, packed as in BoardHistory.
+     */
+    public int[] getLastChanges() {
+        return Arrays.copyOf(this.changes, this.changeCount);
+    }
+
+    /**
+     * An immutable copy of the cells as they are now, for readers on other threads.
+     * Must be called on the thread that owns the board; the same view is returned until a cell changes.
+     */
+    public BoardView view() {
+        if (this.view == null || this.view.getVersion() != this.version) {
+            byte[] states = new byte[this.rows * this.cols];
+            byte[] values = new byte[this.rows * this.cols];
+            for (int r = 0; r < this.rows; r++) {
+                for (int c = 0; c < this.cols; c++) {
+                    states[this.cellIndex(r, c)] = (byte) this.board[r][c].getState().ordinal();
+                    values[this.cellIndex(r, c)] = (byte) this.board[r][c].getValue().getValue();
+                }
+            }
+            this.view = new BoardView(this.version, this.rows, this.cols, this.numMines, states, values);
+        }
+        return this.view;
+    }
+
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Puts every cell of a delta back to its state before (undo) or after (redo) the change.
+     * The cells are available from getLastRevealedCells; nothing is recorded for getLastChanges.
+     */
+    public void applyChanges(int[] delta, boolean undo) {
+        this.visited.clear();
+        this.changeCount = 0;
+        CellState[] states = CellState.values();
+        for (int change : delta) {
+            int cell = BoardHistory.cell(change);
+            int r = cell / this.cols;
+            int c = cell % this.cols;
+            this.board[r][c].setState(states[undo ? BoardHistory.before(change) : BoardHistory.after(change)]);
+            this.visited.set(cell);
+        }
+        this.updateCellCoverageCache();
+    }
+
+    void coverCells() {
+        for (int r = 0; r < this.rows; r++) {
+            for (int c = 0; c < this.cols; c++) {
+
+                    if (this.board[r][c].getState() == CellState.UNCOVERED) {
+                        this.board[r][c] = new Cell(CellState.COVERED, this.board[r][c].getValue());
+                    }
+            }
+        }
+
+        this.updateCellCoverageCache();
+    }
+
+    boolean outOfBounds(int r, int c) {
+        return Math.min(r, c) < 0 || r >= this.rows || c >= this.cols;
+    }
+
+    /**
+     * Row-major index of a cell, as used by the cell sets: row = index / cols, col = index % cols.
+     */
+    public int cellIndex(int row, int col) {
+        return row * this.cols + col;
+    }
+
+    public void updateCellCoverageCache() {
+        long start = System.nanoTime();
+        // every change to the cells ends with a cache update, including those made through getBoard()
+        this.version++;
+        this.uncoveredCells.clear();
+        this.coveredCells.clear();
+        this.flaggedCells.clear();
+
+        for (int r = 0; r < this.rows; r++) {
+            for (int c = 0; c < this.cols; c++) {
+                CellState state = this.board[r][c].getState();
+
+                if (state == CellState.UNCOVERED) {
+                    this.uncoveredCells.set(this.cellIndex(r, c));
+                } else if (state == CellState.COVERED) {
+                    this.coveredCells.set(this.cellIndex(r, c));
+                } else if (state == CellState.FLAGGED) {
+                    this.flaggedCells.set(this.cellIndex(r, c));
+                }
+            }
+        }
+        COVERAGE_CACHE_TIME.recordSince(start);
+    }
+
+    void initializeBoardCells() {
+        for (int r = 0; r < this.rows; r++) {
+            for (int c = 0; c < this.cols; c++) {
+                this.board[r][c] = new Cell(CellState.COVERED, CellValue.EMPTY);
+                this.coveredCells.set(this.cellIndex(r, c));
+            }
+        }
+    }
+
+    void initializeMines() {
+        this.mines = placeMines(this.rows, this.cols, this.numMines, this.random);
+
+        // set cell values
+        for (int r = 0; r < this.rows; r++) {
+            for (int c = 0; c < this.cols; c++) {
+                if (this.mines[r][c]) {
+                    this.mineCache.set(this.cellIndex(r, c));
+                    this.board[r][c] = new Cell(CellState.COVERED, CellValue.MINE);
+                }
+            }
+        }
+    }
+
+    /**
+     * The mine layout a board with the given (scaled) size gets from its random generator.
+     * Generators can test layouts for a seed this way without building a whole board.
+     */
+    static boolean[][] placeMines(int rows, int cols, int numMines, Random random) {
+        boolean[][] mines = new boolean[rows][cols];
+        int minesPlaced = 0;
+        while (minesPlaced < numMines) {
+            int r = random.nextInt(rows);
+            int c = random.nextInt(cols);
+            if (!mines[r][c]) {
+                mines[r][c] = true;
+                minesPlaced++;
+            }
+        }
+        return mines;
+    }
+
+    static int scaleSide(int side) {
+        return Math.max(Math.min(side, 30), 9);
+    }
+
+    static int scaleMines(int numMines, int rows, int cols) {
+        return Math.max(Math.min(numMines, rows * cols), 1);
+    }
+
+    String getBoardStateStr() {
+        StringBuilder board_str = new StringBuilder("Minefield(grid_size=(" + this.rows + ", " + this.cols + "), mines=" + this.numMines + ")\n");
+
+        for (int r = 0; r < this.rows; r++) {
+            StringBuilder row = new StringBuilder();
+            for (int c = 0; c < this.cols; c++) {
+                Cell cell = this.board[r][c];
+
+                if (cell.getState() == CellState.UNCOVERED) {
+                    if (cell.getValue() == CellValue.MINE) {
+                        row.append("X ");
+                    } else {
+                        row.append(cell.getValue().getValue());
+                        row.append(" ");
+                    }
+
+                } else if (cell.getState() == CellState.FLAGGED) {
+                    row.append("✓ ");
+                } else {
+                    row.append("- ");
+                }
+
+            }
+            board_str.append(row).append("\n");
+        }
+
+        return board_str.toString();
+    }
+
+    /**
+     * The board with some cells, keyed by cellIndex, replaced by marks.
+     */
+    String getBoardStateStr(HashMap<Integer, String> markSquares) {
+        StringBuilder board_str = new StringBuilder("Minefield(grid_size=(" + this.rows + ", " + this.cols + "), mines=" + this.numMines + ")\n");
+
+        for (int r = 0; r < this.rows; r++) {
+            StringBuilder row = new StringBuilder();
+            for (int c = 0; c < this.cols; c++) {
+                if (markSquares.containsKey(this.cellIndex(r, c))) {
+                    row.append(markSquares.get(this.cellIndex(r, c)));
+                    row.append(" ");
+                    continue;
+                }
+                Cell cell = this.board[r][c];
+
+                if (cell.getState() == CellState.UNCOVERED) {
+                    if (cell.getValue() == CellValue.MINE) {
+                        row.append("X ");
+                    } else {
+                        row.append(cell.getValue().getValue());
+                        row.append(" ");
+                    }
+
+                } else if (cell.getState() == CellState.FLAGGED) {
+                    row.append("✓ ");
+                } else {
+                    row.append("- ");
+                }
+
+            }
+            board_str.append(row).append("\n");
+        }
+
+        return board_str.toString();
+    }
+    String getOracleStateStr() {
+        HashMap<String, String> asciiMapping = new HashMap<>();
+        asciiMapping.put("-1", "X");
+        for (int i = 0; i < 9; i++) {
+            asciiMapping.put(Integer.toString(i), Integer.toString(i));
+        }
+
+        StringBuilder board_str = new StringBuilder("Oracle:Minefield(grid_size=(" + this.rows + ", " + this.cols + "), mines=" + this.numMines + ")\n");
+        for (int r = 0; r < this.rows; r++) {
+            StringBuilder row = new StringBuilder();
+            for (int c = 0; c < this.cols; c++) {
+                Cell cell = this.board[r][c];
+                int cellValue = cell.getValue().getValue();
+
+                if (cell.getState() == CellState.UNCOVERED) {
+                    row.append(cellValue);
+                    row.append(" ");
+                } else if (cell.getState() == CellState.FLAGGED) {
+                    row.append("✓ ");
+                } else {
+                    row.append(asciiMapping.get(Integer.toString(cellValue)));
+                    row.append(" ");
+                }
+            }
+            board_str.append(row).append("\n");
+        }
+
+        return board_str.toString();
+    }
+
+    String getMineStateStr() {
+        StringBuilder board_str = new StringBuilder("Minefield(grid_size=(" + this.rows + ", " + this.cols + "), mines=" + this.numMines + ")\n");
+        for (int r = 0; r < this.rows; r++) {
+            StringBuilder row = new StringBuilder();
+            for (int c = 0; c < this.cols; c++) {
+                if (this.mines[r][c]) {
+                    row.append("X ");
+                } else {
+                    row.append("- ");
+                }
+            }
+            board_str.append(row).append("\n");
+        }
+        return board_str.toString();
+    }
+
+    /**
+     * Cells (by cellIndex) still to be uncovered to win: every cell that is neither uncovered nor a mine.
+     */
+    public BitSet getLegalCells() {
+        BitSet legalCells = new BitSet(this.rows * this.cols);
+
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                // if cell is not covered and not a mine
+                if (!(this.board[r][c].getState() == CellState.UNCOVERED || this.mines[r][c])) {
+                    legalCells.set(this.cellIndex(r, c));
+                }
+            }
+        }
+        return legalCells;
+    }
+
+    private final int rows, cols, numMines;
+    private final long seed;
+    private final Random random;
+    private Cell[][] board;
+    private boolean[][] mines;
+
+    // cells by cellIndex
+    private final BitSet uncoveredCells, coveredCells, flaggedCells, mineCache, visited;
+
+    // state changes made by the current move, packed as in BoardHistory
+    private int[] changes = new int[16];
+    private int changeCount = 0;
+
+    // bumped whenever a cell may have changed; view is rebuilt only when it is behind
+    private long version = 0;
+    private BoardView view;
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getNumMines() {
+        return numMines;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean[][] getMines() {
+        return mines;
+    }
+
+    public Cell[][] getBoard() {
+        return board;
+    }
+
+    public int[][] getRawBoard() {
+        int[][] rawBoard = new int[this.rows][this.cols];
+        for (int r = 0; r < this.rows; r++) {
+            for (int c = 0; c <this.cols; c++) {
+                rawBoard[r][c] = this.board[r][c].getValue().getValue();
+            }
+        }
+        return rawBoard;
+    }
+
+    public void setBoard(Cell[][] board) {
+        this.board = board;
+        this.version++;
+    }
+
+    public BitSet getUncoveredCells() {
+        return uncoveredCells;
+    }
+
+    public int[][] getUncoveredCellsAsArray() {
+        int[][] uncoveredCellsArray = new int[this.rows][this.cols];
+        for (int r = 0; r < this.rows; r++) {
+            for (int c = 0; c < this.cols; c++) {
+                uncoveredCellsArray[r][c] = (this.uncoveredCells.get(this.cellIndex(r, c)) ? 1 : 0);
+            }
+        }
+        return uncoveredCellsArray;
+    }
+
+    public BitSet getCoveredCells() {
+        return coveredCells;
+    }
+
+    public int[][] getCoveredCellsAsArray() {
+        int[][] coveredCellsArray = new int[this.rows][this.cols];
+        for (int r = 0; r < this.rows; r++) {
+            for (int c = 0; c < this.cols; c++) {
+                coveredCellsArray[r][c] = (this.coveredCells.get(this.cellIndex(r, c)) ? 1 : 0);
+            }
+        }
+        return coveredCellsArray;
+    }
+
+    public BitSet getFlaggedCells() {
+        return flaggedCells;
+    }
+
+    public int[][] getFlaggedCellsAsArray() {
+        int[][] flaggedCellsArray = new int[this.rows][this.cols];
+        for (int r = 0; r < this.rows; r++) {
+            for (int c = 0; c < this.cols; c++) {
+                flaggedCellsArray[r][c] = (this.flaggedCells.get(this.cellIndex(r, c)) ? 1 : 0);
+            }
+        }
+        return flaggedCellsArray;
+    }
+
+    /**
+     * Cells whose state was changed by the most recent call to uncover or chord.
+     */
+    public BitSet getLastRevealedCells() {
+        return visited;
+    }
+
+    public BitSet getMineCache() {
+        return mineCache;
+    }
+
+
+}
@@ -1,37 +1,33 @@
 package com.cameronterry.minesweeper;
 
-import javafx.util.Pair;
-
-import java.util.HashSet;
+import java.util.BitSet;
 import java.util.PriorityQueue;
 
-
-record ProbabilityTuple(float probability, int r, int c) implements Comparable<ProbabilityTuple> {
-
-    @Override
-    public int compareTo(ProbabilityTuple other) {
-        // Config for min-heap; for max-heap, reverse operands
-        return Float.compare(this.probability, other.probability);
-    }
-
-    @Override
-    public String toString() {
-        return String.format("(%.2f, (%d, %d))", probability, r, c);
-    }
-}
-
+/**
+ * MinefieldSolver: Scores every covered cell by how likely it is to hold a mine.
+ * <p>
+ * The solver only reads BoardViews, so it can run on any thread while the game goes on; use one
+ * solver per thread, as the scores are kept in the solver.
+ */
 public class MinefieldSolver {
 
     private static final int[][] DIRECTIONS = {{-1, -1}, {-1, 0}, {-1, 1},
                                                {0, -1}, {0, 1},
                                                {1, -1}, {1, 0}, {1, 1}};
 
+    private static final Metrics.Histogram PROBABILITIES_TIME = Metrics.histogram("solver.getProbabilities");
+
     private final float[][] boardProbabilities;
-    private MinefieldBoard minefieldBoard;
+    // the view the last scores were computed from
+    private BoardView view;
 
     public MinefieldSolver(MinefieldBoard board) {
-        this.minefieldBoard = board;
-        boardProbabilities = new float[board.getRows()][board.getCols()];
+        this(board.view());
+    }
+
+    public MinefieldSolver(BoardView view) {
+        this.view = view;
+        boardProbabilities = new float[view.getRows()][view.getCols()];
     }
 
     public int remainingCoveredNeighbors(int r, int c) {
@@ -42,12 +38,11 @@ public class MinefieldSolver {
             int neighborC = c + direction[1];
 
             // if neighbor is out of bounds, skip
-            if (minefieldBoard.outOfBounds(neighborR, neighborC)) {
+            if (view.outOfBounds(neighborR, neighborC)) {
                 continue;
             }
 
-            Cell neighborCell = minefieldBoard.getBoard()[neighborR][neighborC];
-            if (neighborCell.getState() == CellState.COVERED) {
+            if (view.getState(neighborR, neighborC) == CellState.COVERED) {
                 remainingNeighbors++;
             }
         }
@@ -55,7 +50,6 @@ public class MinefieldSolver {
         return remainingNeighbors;
     }
 
-
     public float calculateProbabilityV0(int r, int c) {
         float maxProb = 0;
 
@@ -65,11 +59,11 @@ public class MinefieldSolver {
             int neighborC = c + direction[1];
 
             // if neighbor is out of bounds, skip
-            if (minefieldBoard.outOfBounds(neighborR, neighborC)) {
+            if (view.outOfBounds(neighborR, neighborC)) {
                 continue;
             }
 
-            float cellRawValue = minefieldBoard.getBoard()[neighborR][neighborC].getValue().getValue();
+            float cellRawValue = view.getValue(neighborR, neighborC);
             int remCovNeighbors = remainingCoveredNeighbors(neighborR, neighborC);
 
 
@@ -80,7 +74,30 @@ public class MinefieldSolver {
         return maxProb;
     }
 
-    public PriorityQueue getProbabilities(MinefieldBoard minefieldBoard) {
+    // calculateProbabilityV0, with every cell's covered neighbor count looked up instead of recounted
+    private float calculateProbability(int r, int c, int[][] coveredNeighbors) {
+        float maxProb = 0;
+        for (int[] direction : DIRECTIONS) {
+            int neighborR = r + direction[0];
+            int neighborC = c + direction[1];
+            if (view.outOfBounds(neighborR, neighborC)) {
+                continue;
+            }
+
+            float cellRawValue = view.getValue(neighborR, neighborC);
+            int remCovNeighbors = coveredNeighbors[neighborR][neighborC];
+            maxProb = Math.max(maxProb,
+                    (remCovNeighbors == 0) ? (float) Double.POSITIVE_INFINITY :
+                            cellRawValue / remCovNeighbors);
+        }
+        return maxProb;
+    }
+
+    public PriorityQueue<ProbabilityTuple> getProbabilities(MinefieldBoard minefieldBoard) {
+        return getProbabilities(minefieldBoard.view());
+    }
+
+    public PriorityQueue<ProbabilityTuple> getProbabilities(BoardView view) {
         // iterate through each uncovered cell, and set the probability of covered cells based on these neighbors
         // the score is calculated by {cellValue} / {remainingNeighbors}
         // covered has score of 0
@@ -106,24 +123,33 @@ public class MinefieldSolver {
 
                  we take the max of these probabilities, which is 1, and assign it to the covered cell
          */
-        this.minefieldBoard = minefieldBoard;
+        GameEvents.SolverRun event = new GameEvents.SolverRun();
+        event.begin();
+        long start = System.nanoTime();
+        this.view = view;
         PriorityQueue<ProbabilityTuple> probabilities = new PriorityQueue<>();
-        Cell[][] board = minefieldBoard.getBoard();
-        int rows = minefieldBoard.getRows();
-        int cols = minefieldBoard.getCols();
+        int rows = view.getRows();
+        int cols = view.getCols();
         // find all mines identified (probability = 1)
-        HashSet<Pair<Integer, Integer>> minesIdentified = new HashSet<>();
-        int[][] tempBoard = minefieldBoard.getRawBoard();
+        BitSet minesIdentified = new BitSet(rows * cols);
+        int[][] tempBoard = new int[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                tempBoard[r][c] = view.getValue(r, c);
+            }
+        }
+        // covered neighbor counts for the whole board in one word-parallel pass
+        Bitboard covered = view.cells(CellState.COVERED);
+        int[][] coveredNeighbors = covered.neighborCounts();
 
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
-                Cell cell = board[r][c];
-                if (cell.getState() == CellState.UNCOVERED) {
+                if (view.getState(r, c) == CellState.UNCOVERED) {
                     boardProbabilities[r][c] = 0;
                 } else {
-                    float cellProb = calculateProbabilityV0(r, c);
+                    float cellProb = calculateProbability(r, c, coveredNeighbors);
                     if (cellProb == 1.0f) {
-                        minesIdentified.add(new Pair<>(r, c));
+                        minesIdentified.set(r * cols + c);
                     }
                     boardProbabilities[r][c] = cellProb;
                     probabilities.add(new ProbabilityTuple(cellProb, r, c));
@@ -132,18 +158,18 @@ public class MinefieldSolver {
         }
 
         // iterate through all mines identified, and update probabilities of neighboring cells
-        for (Pair mine : minesIdentified) {
+        for (int mine = minesIdentified.nextSetBit(0); mine >= 0; mine = minesIdentified.nextSetBit(mine + 1)) {
             // find all neighbors of this mine
-            int mineR = (int) mine.getKey();
-            int mineC = (int) mine.getValue();
+            int mineR = mine / cols;
+            int mineC = mine % cols;
 
             for (int[] direction : DIRECTIONS) {
                 int neighborR = mineR + direction[0];
                 int neighborC = mineC + direction[1];
 
                 // if neighbor is out of bounds or covered, skip
-                if (minefieldBoard.outOfBounds(neighborR, neighborC)
-                        || board[neighborR][neighborC].getState() == CellState.COVERED) {
+                if (view.outOfBounds(neighborR, neighborC)
+                        || view.getState(neighborR, neighborC) == CellState.COVERED) {
                     continue;
                 }
 
@@ -155,8 +181,8 @@ public class MinefieldSolver {
                         int neighborNeighborC = neighborC + neighborDirection[1];
 
                         // if neighbor is out of bounds, uncovered, or a mine, skip
-                        if (minefieldBoard.outOfBounds(neighborNeighborR, neighborNeighborC)
-                                || board[neighborNeighborR][neighborNeighborC].getState() == CellState.UNCOVERED
+                        if (view.outOfBounds(neighborNeighborR, neighborNeighborC)
+                                || view.getState(neighborNeighborR, neighborNeighborC) == CellState.UNCOVERED
                         || (neighborNeighborR == mineR && neighborNeighborC == mineC)) {
                             continue;
                         }
@@ -174,10 +200,34 @@ public class MinefieldSolver {
 
         }
 
+        PROBABILITIES_TIME.recordSince(start);
 
+        if (event.shouldCommit()) {
+            event.solver = "MinefieldSolver";
+            Bitboard uncovered = view.cells(CellState.UNCOVERED);
+            event.setFrontier(Bitboard.frontier(covered, uncovered).toArray(), rows, cols);
+            event.deductions = minesIdentified.cardinality();
+            event.solved = view.isCleared();
+            event.commit();
+        }
         return probabilities;
     }
 
+    /**
+     * The covered (unflagged) cell least likely to hold a mine, as {row, col}, or null if there is none.
+     */
+    public int[] safestCell(MinefieldBoard minefieldBoard) {
+        BoardView view = minefieldBoard.view();
+        PriorityQueue<ProbabilityTuple> probabilities = getProbabilities(view);
+        ProbabilityTuple safest;
+        while ((safest = probabilities.poll()) != null) {
+            if (view.getState(safest.r(), safest.c()) == CellState.COVERED) {
+                return new int[]{safest.r(), safest.c()};
+            }
+        }
+        return null;
+    }
+
     public String getProbabilitiesString(MinefieldBoard minefieldBoard) {
         int rows = minefieldBoard.getRows();
         int cols = minefieldBoard.getCols();
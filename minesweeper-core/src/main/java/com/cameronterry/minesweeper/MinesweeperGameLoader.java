@@ -0,0 +1,293 @@
+package com.cameronterry.minesweeper;
+
+import com.google.gson.stream.JsonReader;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+class MinesweeperGameLoader {
+    private static final Metrics.Histogram LOAD_TIME = Metrics.histogram("log.loadGames");
+
+    /**
+     * Loads summary-only records; each record reads its board arrays from the file when first asked for them.
+     */
+    public static List<GameRecord> loadGamesFromFile(String fileName) {
+        GameEvents.LogIO event = new GameEvents.LogIO();
+        event.begin();
+        long start = System.nanoTime();
+        List<GameRecord> gameRecords = new ArrayList<>();
+
+        try (Stream<GameRecord> games = streamGamesFromFile(fileName)) {
+            games.forEach(gameRecords::add);
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+        }
+
+        LOAD_TIME.recordSince(start);
+        commitLogIO(event, fileName, "loadGames", gameRecords.size());
+        return gameRecords;
+    }
+
+    /**
+     * Lazily reads a JSON-lines game log, one summary-only record per line.
+     * The stream holds the file open and must be closed.
+     */
+    public static Stream<GameRecord> streamGamesFromFile(String fileName) throws IOException {
+        GameLogIterator iterator = new GameLogIterator(fileName, 0);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * Parses only the summary fields of a JSON game record, skipping the board arrays.
+     */
+    static GameRecord readSummary(String json, Supplier<GameRecord> details) {
+        int rows = 0, cols = 0, numMines = 0, highestNumber = 0, finalTime = 0;
+        LocalDateTime dateTime = null;
+
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "boardSize" -> {
+                        reader.beginArray();
+                        rows = reader.nextInt();
+                        cols = reader.nextInt();
+                        numMines = reader.nextInt();
+                        reader.endArray();
+                    }
+                    case "highestNumber" -> highestNumber = reader.nextInt();
+                    case "finalTime" -> finalTime = reader.nextInt();
+                    case "dateTime" -> dateTime = LocalDateTime.parse(reader.nextString(), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return new GameRecord(rows, cols, numMines, highestNumber, finalTime, dateTime, details);
+    }
+
+    static GameRecord readRecord(String json) {
+        return MinesweeperLogging.GSON.fromJson(json, GameRecord.class);
+    }
+
+    static GameRecord readRecordAt(String fileName, long offset, int length) {
+        try (RandomAccessFile file = new RandomAccessFile(fileName, "r")) {
+            byte[] line = new byte[length];
+            file.seek(offset);
+            file.readFully(line);
+            return readRecord(new String(line, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a JSON-lines log line by line, keeping track of the byte offset of every line
+     * so the full record can be read again later without rescanning the file.
+     */
+    static class GameLogIterator implements Iterator<GameRecord>, Closeable {
+        private final String fileName;
+        private final InputStream in;
+        // the file is read a chunk at a time and lines are cut out of the chunk in bulk
+        private final byte[] chunk = new byte[1 << 16];
+        private int chunkPosition, chunkLimit;
+        private byte[] line = new byte[4096];
+        private int lineLength;
+        private long position;
+        private long lastOffset, nextOffset;
+        private int lastLength, nextLength;
+        private GameRecord next;
+
+        GameLogIterator(String fileName, long startOffset) throws IOException {
+            this.fileName = fileName;
+            FileInputStream file = new FileInputStream(fileName);
+            file.getChannel().position(startOffset);
+            this.in = file;
+            this.position = startOffset;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.next == null) {
+                try {
+                    this.next = this.readNext();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return this.next != null;
+        }
+
+        @Override
+        public GameRecord next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            GameRecord record = this.next;
+            this.next = null;
+            this.lastOffset = this.nextOffset;
+            this.lastLength = this.nextLength;
+            return record;
+        }
+
+        // byte offset in the file of the record last returned by next()
+        long getLastOffset() {
+            return this.lastOffset;
+        }
+
+        // length in bytes of the record last returned by next(), without its line separator
+        int getLastLength() {
+            return this.lastLength;
+        }
+
+        private GameRecord readNext() throws IOException {
+            while (true) {
+                long lineStart = this.position;
+                boolean lineEnded = this.readLine();
+                if (!lineEnded && this.lineLength == 0) {
+                    return null;
+                }
+
+                String line = new String(this.line, 0, this.lineLength, StandardCharsets.UTF_8).strip();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                int lineLength = this.lineLength;
+                this.nextOffset = lineStart;
+                this.nextLength = lineLength;
+                return readSummary(line, () -> readRecordAt(this.fileName, lineStart, lineLength));
+            }
+        }
+
+        // copies the next line, without its '\n', into line; false if the file ended before a '\n'
+        private boolean readLine() throws IOException {
+            this.lineLength = 0;
+            while (true) {
+                if (this.chunkPosition == this.chunkLimit) {
+                    int read = this.in.read(this.chunk);
+                    if (read < 0) {
+                        return false;
+                    }
+                    this.chunkPosition = 0;
+                    this.chunkLimit = read;
+                }
+
+                int end = this.chunkPosition;
+                while (end < this.chunkLimit && this.chunk[end] != '\n') {
+                    end++;
+                }
+                this.appendToLine(end - this.chunkPosition);
+                this.position += end - this.chunkPosition;
+                this.chunkPosition = end;
+                if (end < this.chunkLimit) {
+                    this.chunkPosition++;
+                    this.position++;
+                    return true;
+                }
+            }
+        }
+
+        private void appendToLine(int length) {
+            if (this.lineLength + length > this.line.length) {
+                this.line = Arrays.copyOf(this.line, Math.max(this.line.length * 2, this.lineLength + length));
+            }
+            System.arraycopy(this.chunk, this.chunkPosition, this.line, this.lineLength, length);
+            this.lineLength += length;
+        }
+
+        @Override
+        public void close() {
+            try {
+                this.in.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Loads a game log by memory-mapping it and scanning record-aligned ranges in parallel.
+     * Meant for analytics over very large logs; JSON records come back summary-only, as with loadGamesFromFile.
+     */
+    public static List<GameRecord> loadGamesMapped(String fileName, GameLogWriter.RecordFormat format) {
+        List<GameRecord> gameRecords = new ArrayList<>();
+
+        try (Stream<GameRecord> games = MappedGameLog.stream(fileName, format, true)) {
+            gameRecords = games.toList();
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+        }
+
+        return gameRecords;
+    }
+
+    public static List<GameRecord> loadGamesFromBinaryFile(String fileName) {
+        GameEvents.LogIO event = new GameEvents.LogIO();
+        event.begin();
+        List<GameRecord> gameRecords = new ArrayList<>();
+
+        try (InputStream in = new BufferedInputStream(new FileInputStream(fileName))) {
+            int recordLength;
+            while ((recordLength = GameRecordCodec.readVarInt(in)) >= 0) {
+                byte[] recordBytes = in.readNBytes(recordLength);
+                gameRecords.add(GameRecordCodec.decode(ByteBuffer.wrap(recordBytes)));
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        commitLogIO(event, fileName, "loadGamesBinary", gameRecords.size());
+        return gameRecords;
+    }
+
+    /**
+     * Reads a log of length-prefixed replays, as written with {@link MinesweeperLogging#saveReplay}.
+     */
+    public static List<GameReplay> loadReplaysFromFile(String fileName) {
+        GameEvents.LogIO event = new GameEvents.LogIO();
+        event.begin();
+        List<GameReplay> replays = new ArrayList<>();
+
+        try (InputStream in = new BufferedInputStream(new FileInputStream(fileName))) {
+            int replayLength;
+            while ((replayLength = GameRecordCodec.readVarInt(in)) >= 0) {
+                replays.add(GameReplay.fromBytes(in.readNBytes(replayLength)));
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        commitLogIO(event, fileName, "loadReplays", replays.size());
+        return replays;
+    }
+
+    private static void commitLogIO(GameEvents.LogIO event, String fileName, String operation, int records) {
+        if (event.shouldCommit()) {
+            event.file = fileName;
+            event.operation = operation;
+            event.records = records;
+            event.bytes = new File(fileName).length();
+            event.commit();
+        }
+    }
+}
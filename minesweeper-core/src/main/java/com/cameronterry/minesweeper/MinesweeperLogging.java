@@ -0,0 +1,127 @@
+package com.cameronterry.minesweeper;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+// TODO: should store uncovered cells as well
+public class MinesweeperLogging {
+    // shared instance; GameRecord is read and written through its streaming adapter
+    static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(GameRecord.class, new GameRecordTypeAdapter())
+            .create();
+
+    private Map<String, Object> gameData;
+
+    public MinesweeperLogging() {
+
+    }
+
+    public String saveGame(MinefieldBoard minefieldBoard, int finalTime, LocalDateTime dateTime) {
+        int rows = minefieldBoard.getRows();
+        int cols = minefieldBoard.getCols();
+        int numMines = minefieldBoard.getNumMines();
+
+        // save the board state
+        int[] boardInfo = new int[3];
+        boardInfo[0] = rows;
+        boardInfo[1] = cols;
+        boardInfo[2] = numMines;
+
+        int[][] boardState = new int[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c <cols; c++) {
+                boardState[r][c] = minefieldBoard.getBoard()[r][c].getValue().getValue();
+            }
+        }
+
+        int[][] uncoveredCells = minefieldBoard.getUncoveredCellsAsArray();
+        int[][] flaggedCells = minefieldBoard.getFlaggedCellsAsArray();
+        int highestNumber = minefieldBoard.getHighestNeighbor();
+
+        // Keep the fields around for callers inspecting the last saved game
+        gameData = new HashMap<>();
+        gameData.put("boardSize", boardInfo);
+        gameData.put("uncoveredCells", uncoveredCells);
+        gameData.put("flaggedCells", flaggedCells);
+        gameData.put("finalBoardState", boardState);
+        gameData.put("highestNumber", highestNumber);
+        gameData.put("finalTime", finalTime);
+        gameData.put("dateTime", dateTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+
+        GameRecord record = new GameRecord(rows, cols, numMines, boardState, uncoveredCells, flaggedCells,
+                highestNumber, finalTime, dateTime);
+        return GSON.toJson(record, GameRecord.class);
+    }
+
+    public static void saveGameToFile(String jsonString, String fileName) {
+        GameEvents.LogIO event = new GameEvents.LogIO();
+        event.begin();
+        // Use try-with-resources to manage FileWriter
+        try (FileWriter file = new FileWriter(fileName, true)) { // true to append, false to overwrite.
+            file.write(jsonString + System.lineSeparator()); // Append a new line after the JSON string
+            // No need to explicitly close the file, try-with-resources handles it
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        try {
+            // index the line just written (and anything appended before the index existed)
+            GameHistoryIndex.update(fileName);
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+        }
+
+        if (event.shouldCommit()) {
+            event.file = fileName;
+            event.operation = "saveGame";
+            event.records = 1;
+            event.bytes = jsonString.length() + System.lineSeparator().length();
+            event.commit();
+        }
+    }
+
+    public byte[] saveGameBinary(MinefieldBoard minefieldBoard, int finalTime, LocalDateTime dateTime) {
+        return GameRecordCodec.encode(minefieldBoard, finalTime, dateTime);
+    }
+
+    public static void saveBinaryGameToFile(byte[] record, String fileName) {
+        GameEvents.LogIO event = new GameEvents.LogIO();
+        event.begin();
+        // each record is prefixed with its length so the file can be read back record by record
+        try (OutputStream file = new FileOutputStream(fileName, true)) {
+            GameRecordCodec.writeVarInt(file, record.length);
+            file.write(record);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        if (event.shouldCommit()) {
+            event.file = fileName;
+            event.operation = "saveGameBinary";
+            event.records = 1;
+            event.bytes = record.length;
+            event.commit();
+        }
+    }
+
+    /**
+     * Every move of the game with its seed, for a length-prefixed replay log.
+     */
+    public byte[] saveReplay(GameReplay replay) {
+        return replay.toBytes();
+    }
+
+    public Map<String, Object> getGameData() {
+        return gameData;
+    }
+}
+
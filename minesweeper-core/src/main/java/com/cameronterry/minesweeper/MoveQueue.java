@@ -0,0 +1,141 @@
+package com.cameronterry.minesweeper;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * MoveQueue: The single writer of one board. Moves come in from any number of threads and are
+ * applied one at a time, in the order they were submitted.
+ * <p>
+ * Submitting never blocks or takes a lock: a producer swaps its node in as the new tail and then
+ * links it behind the old one, and only the consumer reads from the head. The consumer is not a
+ * thread of its own. The submission that finds the queue idle starts a drain on the executor, and
+ * the drain runs until every move counted in {@code pending} has been applied. So at most one
+ * drain runs at a time, and the board is handed from one drain to the next through
+ * {@code pending}. The MoveResult of each move is published to the subscribers on the consumer,
+ * in move order.
+ */
+public class MoveQueue {
+    /**
+     * What a move did: its number within the game, whether it hit a mine or cleared the board,
+     * and the cell states it changed, packed as in BoardHistory.
+     */
+    public record MoveResult(int move, boolean hitMine, boolean cleared, int[] changes) {
+    }
+
+    private static final class Node {
+        final Supplier<?> task;
+        final CompletableFuture<Object> result;
+        final boolean publish;
+        volatile Node next;
+
+        Node(Supplier<?> task, CompletableFuture<Object> result, boolean publish) {
+            this.task = task;
+            this.result = result;
+            this.publish = publish;
+        }
+    }
+
+    private final Executor executor;
+    private final AtomicReference<Node> tail;
+    // consumer only: the node of the last move taken, its task already run
+    private Node head;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final List<Consumer<MoveResult>> subscribers = new CopyOnWriteArrayList<>();
+
+    public MoveQueue(Executor executor) {
+        this.executor = executor;
+        this.head = new Node(null, null, false);
+        this.tail = new AtomicReference<>(this.head);
+    }
+
+    /**
+     * Queues a move. Its result, when not null, is published to the subscribers once applied;
+     * a move that returns null changed nothing.
+     */
+    public CompletableFuture<MoveResult> submit(Supplier<MoveResult> move) {
+        return this.enqueue(move, true);
+    }
+
+    /**
+     * Queues a task that reads or maintains the board between moves; nothing is published.
+     */
+    public <T> CompletableFuture<T> execute(Supplier<T> task) {
+        return this.enqueue(task, false);
+    }
+
+    public void subscribe(Consumer<MoveResult> subscriber) {
+        this.subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(Consumer<MoveResult> subscriber) {
+        this.subscribers.remove(subscriber);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> enqueue(Supplier<?> task, boolean publish) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        Node node = new Node(task, result, publish);
+        this.tail.getAndSet(node).next = node;
+        if (this.pending.getAndIncrement() == 0) {
+            try {
+                this.executor.execute(this::drain);
+            } catch (RuntimeException e) {
+                // no drain will run, so this thread takes the consumer's place and fails the moves
+                this.reject(e);
+            }
+        }
+        return (CompletableFuture<T>) result;
+    }
+
+    private void drain() {
+        do {
+            Node node;
+            // a later move can be counted before an earlier producer has linked its node
+            while ((node = this.head.next) == null) {
+                Thread.onSpinWait();
+            }
+            this.head = node;
+            this.run(node);
+        } while (this.pending.decrementAndGet() != 0);
+    }
+
+    private void reject(Throwable cause) {
+        do {
+            Node node;
+            while ((node = this.head.next) == null) {
+                Thread.onSpinWait();
+            }
+            this.head = node;
+            node.result.completeExceptionally(cause);
+        } while (this.pending.decrementAndGet() != 0);
+    }
+
+    private void run(Node node) {
+        Object value;
+        try {
+            value = node.task.get();
+        } catch (Throwable e) {
+            // the queue carries on with the next move either way
+            node.result.completeExceptionally(e);
+            return;
+        }
+        if (node.publish && value != null) {
+            for (Consumer<MoveResult> subscriber : this.subscribers) {
+                try {
+                    subscriber.accept((MoveResult) value);
+                } catch (RuntimeException e) {
+                    // one failing subscriber does not keep the move from the others
+                    e.printStackTrace();
+                }
+            }
+        }
+        node.result.complete(value);
+    }
+}
@@ -0,0 +1,175 @@
+package com.cameronterry.minesweeper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * NoGuessGenerator: Generates boards that can be cleared from their first click without guessing.
+ * <p>
+ * Candidate seeds are derived from a base seed, random unless one is given, and their layouts run
+ * through the DeductionSolver from the start cell, the one opening the largest empty region.
+ * Candidates are tested on every core at once and generation stops at the first accepted layout.
+ * Layouts are rejected rather than repaired, so an accepted board is still fully described by its seed.
+ */
+public class NoGuessGenerator {
+    // part of the key of stored no-guess layouts; bump whenever acceptance changes
+    static final int VERSION = 1;
+    static final int MAX_ATTEMPTS = 200_000;
+
+    private static final int WORKERS = Runtime.getRuntime().availableProcessors();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(WORKERS, runnable -> {
+        Thread thread = new Thread(runnable, "no-guess-generator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private NoGuessGenerator() {
+    }
+
+    /**
+     * A no-guess board with its start cell already uncovered, or empty if none was found within
+     * MAX_ATTEMPTS candidates (the mine density is too high for one to exist in practice).
+     */
+    public static Optional<MinefieldBoard> generate(int rows, int cols, int numMines) {
+        return generate(rows, cols, numMines, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * As {@link #generate(int, int, int)}, but reproducible: the same seed gives the same board
+     * whatever the number of cores.
+     */
+    public static Optional<MinefieldBoard> generate(int rows, int cols, int numMines, long seed) {
+        GameEvents.BoardGeneration event = new GameEvents.BoardGeneration();
+        event.begin();
+        int scaledRows = MinefieldBoard.scaleSide(rows);
+        int scaledCols = MinefieldBoard.scaleSide(cols);
+        int scaledMines = MinefieldBoard.scaleMines(numMines, scaledRows, scaledCols);
+
+        // candidates are numbered and the lowest accepted number wins, so which worker finds it does not matter
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger accepted = new AtomicInteger(MAX_ATTEMPTS);
+        Callable<Void> search = () -> {
+            int candidate;
+            while ((candidate = attempts.getAndIncrement()) < accepted.get()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+                boolean[][] mines = MinefieldBoard.placeMines(scaledRows, scaledCols, scaledMines,
+                        new Random(candidateSeed(seed, candidate)));
+                if (isNoGuess(mines, scaledMines)) {
+                    accepted.accumulateAndGet(candidate, Math::min);
+                }
+            }
+            return null;
+        };
+
+        List<Callable<Void>> searches = new ArrayList<>();
+        for (int i = 0; i < WORKERS; i++) {
+            searches.add(search);
+        }
+
+        Optional<MinefieldBoard> board = Optional.empty();
+        try {
+            // every search stops once the candidates below the lowest accepted one have all been tried
+            EXECUTOR.invokeAll(searches);
+            if (accepted.get() < MAX_ATTEMPTS) {
+                board = Optional.of(open(new MinefieldBoard(scaledRows, scaledCols, scaledMines,
+                        candidateSeed(seed, accepted.get()))));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (event.shouldCommit()) {
+            event.rows = scaledRows;
+            event.cols = scaledCols;
+            event.numMines = scaledMines;
+            event.noGuess = true;
+            event.attempts = Math.min(attempts.get(), MAX_ATTEMPTS);
+            event.found = board.isPresent();
+            event.commit();
+        }
+        return board;
+    }
+
+    private static long candidateSeed(long seed, int candidate) {
+        return new SplittableRandom(seed + candidate * 0x9E3779B97F4A7C15L).nextLong();
+    }
+
+    /**
+     * Whether the layout can be cleared from its start cell by deduction alone.
+     */
+    static boolean isNoGuess(boolean[][] mines, int numMines) {
+        int start = startCell(mines);
+        return start >= 0 && new DeductionSolver(mines, numMines).solve(start);
+    }
+
+    /**
+     * Uncovers the start cell of a no-guess layout.
+     */
+    static MinefieldBoard open(MinefieldBoard board) {
+        int start = startCell(board.getMines());
+        board.uncover(start / board.getCols(), start % board.getCols());
+        return board;
+    }
+
+    /**
+     * The empty cell (row-major index) whose opening reveals the most cells; ties go to the first
+     * such region in row-major order. -1 if the layout has no empty cell.
+     */
+    static int startCell(boolean[][] mines) {
+        int rows = mines.length;
+        int cols = mines[0].length;
+        int[][] values = GameRecordCodec.neighborValues(mines);
+        // label of the last region that reached each cell; an empty cell belongs to exactly one region
+        int[] region = new int[rows * cols];
+        int[] stack = new int[rows * cols];
+        int label = 0;
+        int bestCell = -1;
+        int bestSize = 0;
+
+        for (int start = 0; start < rows * cols; start++) {
+            if (region[start] != 0 || values[start / cols][start % cols] != 0) {
+                continue;
+            }
+
+            // flood the empty region and its numbered border, counting the cells it reveals
+            label++;
+            int size = 0;
+            int top = 0;
+            stack[top++] = start;
+            region[start] = label;
+            while (top > 0) {
+                int cell = stack[--top];
+                size++;
+                int row = cell / cols, col = cell % cols;
+                if (values[row][col] != 0) {
+                    continue;
+                }
+                for (int r = Math.max(0, row - 1); r <= Math.min(rows - 1, row + 1); r++) {
+                    for (int c = Math.max(0, col - 1); c <= Math.min(cols - 1, col + 1); c++) {
+                        int neighbor = r * cols + c;
+                        if (region[neighbor] != label) {
+                            region[neighbor] = label;
+                            stack[top++] = neighbor;
+                        }
+                    }
+                }
+            }
+
+            if (size > bestSize) {
+                bestSize = size;
+                bestCell = start;
+            }
+        }
+        return bestCell;
+    }
+}
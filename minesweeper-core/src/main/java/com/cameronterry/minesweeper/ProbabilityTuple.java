@@ -0,0 +1,15 @@
+package com.cameronterry.minesweeper;
+
+public record ProbabilityTuple(float probability, int r, int c) implements Comparable<ProbabilityTuple> {
+
+    @Override
+    public int compareTo(ProbabilityTuple other) {
+        // Config for min-heap; for max-heap, reverse operands
+        return Float.compare(this.probability, other.probability);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("(%.2f, (%d, %d))", probability, r, c);
+    }
+}
@@ -0,0 +1,6 @@
+module com.cameronterry.minesweeper.core {
+    requires com.google.gson;
+    requires jdk.jfr;
+
+    exports com.cameronterry.minesweeper;
+}
@@ -0,0 +1,83 @@
+package com.cameronterry.minesweeper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+class BitboardTest {
+    MinefieldBoard board;
+    Random rand;
+
+    @BeforeEach
+    void setUp() {
+        rand = new Random(42);
+        board = new MinefieldBoard(9, 9, 10);
+    }
+
+    @Test
+    void testBitboardNeighborCounts() {
+        // sizes on both sides of a word boundary, so shifts across longs are covered
+        int[][] sizes = {{9, 9}, {16, 30}, {5, 64}, {7, 65}, {3, 130}};
+        for (int[] size : sizes) {
+            int rows = size[0], cols = size[1];
+            boolean[][] cells = new boolean[rows][cols];
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    cells[r][c] = rand.nextInt(3) == 0;
+                }
+            }
+            Bitboard bitboard = Bitboard.of(cells);
+            Bitboard complement = new Bitboard(rows, cols);
+            for (int cell = 0; cell < rows * cols; cell++) {
+                if (!cells[cell / cols][cell % cols]) {
+                    complement.set(cell);
+                }
+            }
+
+            int[][] counts = bitboard.neighborCounts();
+            Bitboard neighbors = bitboard.neighbors();
+            Bitboard frontier = Bitboard.frontier(complement, bitboard);
+            int expectedCardinality = 0;
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    int expected = 0;
+                    for (int dr = -1; dr <= 1; dr++) {
+                        for (int dc = -1; dc <= 1; dc++) {
+                            int nr = r + dr, nc = c + dc;
+                            if ((dr != 0 || dc != 0) && nr >= 0 && nr < rows && nc >= 0 && nc < cols && cells[nr][nc]) {
+                                expected++;
+                            }
+                        }
+                    }
+                    assertEquals(expected, counts[r][c], "count at (" + r + ", " + c + ") of " + rows + "x" + cols);
+                    assertEquals(expected > 0, neighbors.get(r * cols + c));
+                    assertEquals(expected > 0 && !cells[r][c], frontier.get(r * cols + c));
+                    expectedCardinality += cells[r][c] ? 1 : 0;
+                }
+            }
+            assertEquals(expectedCardinality, bitboard.cardinality());
+
+            // nextSetBit walks exactly the set cells, in row-major order
+            int seen = 0;
+            int previous = -1;
+            for (int cell = bitboard.nextSetBit(0); cell >= 0; cell = bitboard.nextSetBit(cell + 1)) {
+                assertTrue(cell > previous);
+                assertTrue(cells[cell / cols][cell % cols]);
+                previous = cell;
+                seen++;
+            }
+            assertEquals(expectedCardinality, seen);
+        }
+
+        // generated boards still carry the right numbers
+        int[][] values = GameRecordCodec.neighborValues(board.getMines());
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                assertEquals(values[r][c], board.getBoard()[r][c].getValue().getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.cameronterry.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardHistoryTest {
+    @Test
+    void undoRedoRestoresBoard() {
+        MinefieldBoard board = new MinefieldBoard(30, 30, 50, 99L);
+        BoardHistory history = new BoardHistory();
+        GameReplay replay = new GameReplay(board);
+        String start = board.getBoardStateStr();
+
+        int safeCell = board.getLegalCells().nextSetBit(0);
+        board.uncover(safeCell / board.getCols(), safeCell % board.getCols());
+        int[] fill = board.getLastChanges();
+        // one change per revealed cell, nothing else
+        assertEquals(board.getLastRevealedCells().cardinality(), fill.length);
+        assertEquals(board.getUncoveredCells().cardinality(), fill.length);
+        history.record(fill);
+        replay.record(GameReplay.Move.UNCOVER, safeCell / board.getCols(), safeCell % board.getCols(), board);
+        String afterUncover = board.getBoardStateStr();
+
+        int mine = board.getMineCache().nextSetBit(0);
+        board.flagCell(mine / board.getCols(), mine % board.getCols());
+        assertEquals(1, board.getLastChanges().length);
+        history.record(board.getLastChanges());
+        replay.record(GameReplay.Move.FLAG, mine / board.getCols(), mine % board.getCols(), board);
+        String afterFlag = board.getBoardStateStr();
+
+        replay.record(GameReplay.Move.UNDO, history.undo(board), board);
+        assertEquals(afterUncover, board.getBoardStateStr());
+        replay.record(GameReplay.Move.UNDO, history.undo(board), board);
+        assertEquals(start, board.getBoardStateStr());
+        assertTrue(board.getUncoveredCells().isEmpty());
+        assertFalse(history.canUndo());
+
+        replay.record(GameReplay.Move.REDO, history.redo(board), board);
+        assertEquals(afterUncover, board.getBoardStateStr());
+        assertTrue(history.canRedo());
+        history.record(new int[0]);
+        assertTrue(history.canRedo());
+
+        GameReplay restored = GameReplay.fromBytes(replay.toBytes());
+        assertEquals(afterFlag, restored.boardAt(2).getBoardStateStr());
+        assertEquals(start, restored.boardAt(4).getBoardStateStr());
+        assertEquals(afterUncover, restored.boardAt(5).getBoardStateStr());
+    }
+
+    @Test
+    void winAfterUndoingALossIsPractice() {
+        MinefieldBoard board = new MinefieldBoard(9, 9, 10, 7L);
+        BoardHistory history = new BoardHistory();
+
+        int mine = board.getMineCache().nextSetBit(0);
+        assertTrue(board.uncover(mine / board.getCols(), mine % board.getCols()));
+        history.record(board.getLastChanges());
+        assertFalse(history.wasUndoUsed());
+        history.undo(board);
+        assertTrue(history.wasUndoUsed());
+
+        // play the taken-back game to a win
+        for (int cell = board.getLegalCells().nextSetBit(0); cell >= 0; cell = board.getLegalCells().nextSetBit(0)) {
+            board.uncover(cell / board.getCols(), cell % board.getCols());
+            history.record(board.getLastChanges());
+        }
+        assertTrue(board.getLegalCells().isEmpty());
+        assertTrue(history.wasUndoUsed());
+
+        // a new game starts clean
+        history.clear();
+        assertFalse(history.wasUndoUsed());
+    }
+}
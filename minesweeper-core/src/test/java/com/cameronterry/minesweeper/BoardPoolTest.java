@@ -0,0 +1,54 @@
+package com.cameronterry.minesweeper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+
+class BoardPoolTest {
+    @Test
+    void boardPoolRefillsInBackground(@TempDir Path tempDir) throws InterruptedException {
+        try (BoardPool pool = new BoardPool(LayoutCache.open(tempDir.resolve("layouts.bin").toString()))) {
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (pool.available(16, 30, 99, true) < BoardPool.BOARDS_PER_CONFIGURATION
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(BoardPool.BOARDS_PER_CONFIGURATION, pool.available(9, 9, 10, false));
+
+            MinefieldBoard expert = pool.take(16, 30, 99, true);
+            assertEquals(99, expert.getNumMines());
+            assertTrue(NoGuessGenerator.isNoGuess(expert.getMines(), 99));
+
+            // custom sizes are scaled like MinefieldBoard, and only the last one is kept
+            MinefieldBoard custom = pool.take(5, 12, 20, false);
+            assertEquals(9, custom.getRows());
+            assertEquals(12, custom.getCols());
+            pool.take(20, 20, 60, false);
+            assertEquals(0, pool.available(9, 12, 20, false));
+        }
+    }
+
+    @Test
+    void boardPoolOnlyConsumesCachedLayoutsItDeals(@TempDir Path tempDir) throws Exception {
+        String fileName = tempDir.resolve("layouts.bin").toString();
+        LayoutCache.fill(fileName, 9, 9, 10, 3, LayoutCache.DEFAULT_MAX_BYTES);
+        LayoutCache cache = LayoutCache.open(fileName);
+
+        try (BoardPool pool = new BoardPool(cache)) {
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (pool.available(9, 9, 10, true) < BoardPool.BOARDS_PER_CONFIGURATION
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            // filling the pool leaves the cached layouts alone
+            assertEquals(3, cache.remaining(9, 9, 10));
+
+            MinefieldBoard dealt = pool.take(9, 9, 10, true);
+            assertTrue(NoGuessGenerator.isNoGuess(dealt.getMines(), 10));
+            assertEquals(2, cache.remaining(9, 9, 10));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.cameronterry.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardSnapshotTest {
+    @Test
+    void snapshotRoundTrip() {
+        MinefieldBoard board = new MinefieldBoard(30, 30, 150);
+        int safeCell = board.getLegalCells().nextSetBit(0);
+        board.uncover(safeCell / board.getCols(), safeCell % board.getCols());
+        int mine = board.getMineCache().nextSetBit(0);
+        board.flagCell(mine / board.getCols(), mine % board.getCols());
+
+        byte[] bytes = new BoardSnapshot(board, 321).toBytes();
+        // header + 1 bit of layout and 2 bits of state per cell
+        assertTrue(bytes.length < 20 + 900 * 3 / 8);
+
+        BoardSnapshot restored = BoardSnapshot.fromBytes(bytes);
+        MinefieldBoard restoredBoard = restored.board();
+        assertEquals(321, restored.elapsedSeconds());
+        assertEquals(board.getSeed(), restoredBoard.getSeed());
+        assertEquals(board.getNumMines(), restoredBoard.getNumMines());
+        assertArrayEquals(board.getMines(), restoredBoard.getMines());
+        assertArrayEquals(board.getRawBoard(), restoredBoard.getRawBoard());
+        assertEquals(board.getBoardStateStr(), restoredBoard.getBoardStateStr());
+        assertEquals(board.getUncoveredCells(), restoredBoard.getUncoveredCells());
+        assertEquals(board.getFlaggedCells(), restoredBoard.getFlaggedCells());
+        assertEquals(board.getMineCache(), restoredBoard.getMineCache());
+    }
+}
@@ -0,0 +1,56 @@
+package com.cameronterry.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.CompletableFuture;
+
+class BoardViewTest {
+    @Test
+    void testBoardView() throws Exception {
+        MinefieldBoard board = new MinefieldBoard(16, 30, 99, 11L);
+        BoardView before = board.view();
+        // nothing changed, so the same view comes back
+        assertSame(before, board.view());
+
+        int safeCell = board.getLegalCells().nextSetBit(0);
+        int row = safeCell / board.getCols(), col = safeCell % board.getCols();
+        board.uncover(row, col);
+        BoardView after = board.view();
+        assertNotSame(before, after);
+        assertTrue(after.getVersion() > before.getVersion());
+
+        // the old view still shows the board as it was
+        assertEquals(CellState.COVERED, before.getState(row, col));
+        assertEquals(CellState.UNCOVERED, after.getState(row, col));
+        assertEquals(board.getUncoveredCells().cardinality(), after.count(CellState.UNCOVERED));
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                assertEquals(board.getBoard()[r][c].getValue().getValue(), after.getValue(r, c));
+            }
+        }
+
+        // a solver on another thread scores the view while the game goes on
+        MinefieldSolver expected = new MinefieldSolver(after);
+        expected.getProbabilities(after);
+        CompletableFuture<Boolean> unchanged = CompletableFuture.supplyAsync(() -> {
+            boolean same = true;
+            for (int i = 0; i < 20; i++) {
+                MinefieldSolver solver = new MinefieldSolver(after);
+                solver.getProbabilities(after);
+                same &= Arrays.deepEquals(expected.getBoardProbabilities(), solver.getBoardProbabilities());
+            }
+            return same;
+        });
+        BitSet legalCells = board.getLegalCells();
+        for (int cell = legalCells.nextSetBit(0); cell >= 0 && !board.getLegalCells().isEmpty(); cell = legalCells.nextSetBit(cell + 1)) {
+            board.uncover(cell / board.getCols(), cell % board.getCols());
+        }
+        assertTrue(unchanged.get());
+        assertTrue(board.view().isCleared());
+        assertFalse(after.isCleared());
+    }
+}
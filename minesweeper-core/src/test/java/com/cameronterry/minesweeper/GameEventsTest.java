@@ -0,0 +1,44 @@
+package com.cameronterry.minesweeper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.nio.file.Path;
+
+class GameEventsTest {
+    @Test
+    void flightRecorderEvents(@TempDir Path tempDir) throws Exception {
+        Path recordingFile = tempDir.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.cameronterry.minesweeper.BoardGeneration");
+            recording.enable("com.cameronterry.minesweeper.FloodFill");
+            recording.enable("com.cameronterry.minesweeper.SolverRun");
+            recording.start();
+
+            MinefieldBoard generated = NoGuessGenerator.generate(9, 9, 10).orElseThrow();
+            int start = NoGuessGenerator.startCell(generated.getMines());
+            new MinefieldSolver(generated).getProbabilities(generated);
+            generated.uncover(start / 9, start % 9);
+
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().endsWith("BoardGeneration")
+                && e.getBoolean("noGuess") && e.getBoolean("found") && e.getInt("attempts") >= 1));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().endsWith("FloodFill")
+                && e.getInt("cellsRevealed") > 1 && !e.getBoolean("hitMine")));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().endsWith("SolverRun")
+                && e.getString("solver").equals("MinefieldSolver") && e.getInt("frontierSize") > 0
+                && e.getInt("components") >= 1));
+    }
+}
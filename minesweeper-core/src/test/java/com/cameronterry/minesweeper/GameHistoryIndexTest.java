@@ -0,0 +1,54 @@
+package com.cameronterry.minesweeper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+class GameHistoryIndexTest {
+    MinefieldBoard board;
+    int rows, cols, numMines;
+
+    @BeforeEach
+    void setUp() {
+        rows = 9;
+        cols = 9;
+        numMines = 10;
+        board = new MinefieldBoard(rows, cols, numMines);
+    }
+
+    @Test
+    void testGameHistoryIndex(@TempDir Path tempDir) throws Exception {
+        String fileName = tempDir.resolve("finished_games.json").toString();
+        MinesweeperLogging logger = new MinesweeperLogging();
+
+        // a log written before the index existed is indexed on first use
+        board = new MinefieldBoard(rows, cols, numMines);
+        Files.writeString(Path.of(fileName),
+                logger.saveGame(board, 30, LocalDateTime.now()) + System.lineSeparator());
+        int[][] firstBoard = board.getRawBoard();
+
+        board = new MinefieldBoard(rows, cols, numMines);
+        MinesweeperLogging.saveGameToFile(logger.saveGame(board, 20, LocalDateTime.now()), fileName);
+        MinesweeperLogging.saveGameToFile(logger.saveGame(new MinefieldBoard(16, 16, 40), 5, LocalDateTime.now()), fileName);
+
+        List<GameRecord> records = GameHistoryIndex.load(fileName);
+        assertEquals(3, records.size());
+        assertEquals(30, records.get(0).getFinalTime());
+        assertEquals(16, records.get(2).getRows());
+        assertArrayEquals(firstBoard, records.get(0).getBoardState());
+        assertArrayEquals(board.getRawBoard(), records.get(1).getBoardState());
+
+        assertEquals(OptionalInt.of(20), GameHistoryIndex.bestTime(fileName, rows, cols, numMines));
+        assertEquals(OptionalInt.of(5), GameHistoryIndex.bestTime(fileName, 16, 16, 40));
+        assertTrue(GameHistoryIndex.bestTime(fileName, 30, 30, 99).isEmpty());
+    }
+}
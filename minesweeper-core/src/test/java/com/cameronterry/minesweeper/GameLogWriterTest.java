@@ -0,0 +1,112 @@
+package com.cameronterry.minesweeper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+class GameLogWriterTest {
+    MinefieldBoard board;
+
+    @BeforeEach
+    void setUp() {
+        board = new MinefieldBoard(9, 9, 10);
+    }
+
+    @Test
+    void testGameLogWriter(@TempDir Path tempDir) {
+        String jsonFile = tempDir.resolve("finished_games.json").toString();
+        String binaryFile = tempDir.resolve("finished_games.bin").toString();
+        MinesweeperLogging logger = new MinesweeperLogging();
+        GameLogWriter jsonLog = new GameLogWriter(jsonFile,
+                GameLogWriter.RecordFormat.JSON_LINES, GameLogWriter.FsyncPolicy.EVERY_BATCH);
+        GameLogWriter binaryLog = new GameLogWriter(binaryFile,
+                GameLogWriter.RecordFormat.LENGTH_PREFIXED, GameLogWriter.FsyncPolicy.NEVER);
+
+        for (int i = 0; i < 2000; i++) {
+            jsonLog.append(logger.saveGame(board, i, LocalDateTime.now()));
+            binaryLog.append(logger.saveGameBinary(board, i, LocalDateTime.now()));
+        }
+        jsonLog.flush();
+        assertEquals(2000, GameHistoryIndex.load(jsonFile).size());
+
+        jsonLog.close();
+        binaryLog.close();
+        assertThrows(IllegalStateException.class, () -> jsonLog.append("{}"));
+
+        List<GameRecord> records = MinesweeperGameLoader.loadGamesFromFile(jsonFile);
+        assertEquals(2000, records.size());
+        assertEquals(1999, records.get(1999).getFinalTime());
+        List<GameRecord> binaryRecords = MinesweeperGameLoader.loadGamesFromBinaryFile(binaryFile);
+        assertEquals(2000, binaryRecords.size());
+        assertArrayEquals(board.getRawBoard(), binaryRecords.get(1999).getBoardState());
+    }
+
+    @Test
+    void testGameLogWriterSurvivesFailedWrite(@TempDir Path tempDir) throws Exception {
+        // the log's directory does not exist yet, so the first batch cannot be written
+        Path logDir = tempDir.resolve("logs");
+        String binaryFile = logDir.resolve("finished_games.bin").toString();
+        MinesweeperLogging logger = new MinesweeperLogging();
+        long lostBefore = Metrics.counters().getOrDefault("log.recordsLost", 0L);
+
+        try (GameLogWriter binaryLog = new GameLogWriter(binaryFile,
+                GameLogWriter.RecordFormat.LENGTH_PREFIXED, GameLogWriter.FsyncPolicy.NEVER)) {
+            for (int i = 0; i < 10; i++) {
+                binaryLog.append(logger.saveGameBinary(board, i, LocalDateTime.now()));
+            }
+            binaryLog.flush();
+            assertEquals(lostBefore + 10, Metrics.counters().get("log.recordsLost"));
+
+            Files.createDirectories(logDir);
+            binaryLog.append(logger.saveGameBinary(board, 10, LocalDateTime.now()));
+            binaryLog.flush();
+        }
+
+        List<GameRecord> binaryRecords = MinesweeperGameLoader.loadGamesFromBinaryFile(binaryFile);
+        assertEquals(1, binaryRecords.size());
+        assertEquals(10, binaryRecords.get(0).getFinalTime());
+    }
+
+    @Test
+    void testGameLogWriterCutsTornTail(@TempDir Path tempDir) throws Exception {
+        // logs left with half a record by a crash
+        Path jsonFile = tempDir.resolve("finished_games.json");
+        Path binaryFile = tempDir.resolve("finished_games.bin");
+        MinesweeperLogging logger = new MinesweeperLogging();
+        String json = logger.saveGame(board, 0, LocalDateTime.now());
+        Files.writeString(jsonFile, json + System.lineSeparator() + json.substring(0, json.length() / 2));
+        byte[] binary = logger.saveGameBinary(board, 0, LocalDateTime.now());
+        ByteArrayOutputStream torn = new ByteArrayOutputStream();
+        for (int i = 0; i < 2; i++) {
+            GameRecordCodec.writeVarInt(torn, binary.length);
+            torn.write(binary, 0, i == 0 ? binary.length : binary.length / 2);
+        }
+        Files.write(binaryFile, torn.toByteArray());
+
+        try (GameLogWriter jsonLog = new GameLogWriter(jsonFile.toString(),
+                GameLogWriter.RecordFormat.JSON_LINES, GameLogWriter.FsyncPolicy.NEVER);
+             GameLogWriter binaryLog = new GameLogWriter(binaryFile.toString(),
+                GameLogWriter.RecordFormat.LENGTH_PREFIXED, GameLogWriter.FsyncPolicy.NEVER)) {
+            jsonLog.append(logger.saveGame(board, 1, LocalDateTime.now()));
+            binaryLog.append(logger.saveGameBinary(board, 1, LocalDateTime.now()));
+        }
+
+        // the partial records are gone rather than left in front of the new ones
+        List<GameRecord> records = MinesweeperGameLoader.loadGamesMapped(jsonFile.toString(), GameLogWriter.RecordFormat.JSON_LINES);
+        assertEquals(2, records.size());
+        assertEquals(1, records.get(1).getFinalTime());
+        List<GameRecord> binaryRecords = MinesweeperGameLoader.loadGamesFromBinaryFile(binaryFile.toString());
+        assertEquals(2, binaryRecords.size());
+        assertEquals(1, binaryRecords.get(1).getFinalTime());
+        assertEquals(0, GameStatistics.compute(jsonFile.toString(), GameLogWriter.RecordFormat.JSON_LINES).getSkippedRecords());
+    }
+}
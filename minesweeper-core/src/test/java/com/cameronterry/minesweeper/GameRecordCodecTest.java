@@ -0,0 +1,67 @@
+package com.cameronterry.minesweeper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+class GameRecordCodecTest {
+    MinefieldBoard board;
+    int rows, cols, numMines;
+
+    @BeforeEach
+    void setUp() {
+        rows = 9;
+        cols = 9;
+        numMines = 10;
+        board = new MinefieldBoard(rows, cols, numMines);
+    }
+
+    @Test
+    void testBinaryRecordRoundTrip() {
+        int safeCell = board.getLegalCells().nextSetBit(0);
+        board.uncover(safeCell / board.getCols(), safeCell % board.getCols());
+        int mine = board.getMineCache().nextSetBit(0);
+        board.flagCell(mine / board.getCols(), mine % board.getCols());
+
+        LocalDateTime dateTime = LocalDateTime.of(2024, 3, 1, 12, 30, 15);
+        MinesweeperLogging logger = new MinesweeperLogging();
+        byte[] encoded = logger.saveGameBinary(board, 125, dateTime);
+        GameRecord record = GameRecordCodec.decode(ByteBuffer.wrap(encoded));
+
+        assertEquals(rows, record.getRows());
+        assertEquals(cols, record.getCols());
+        assertEquals(numMines, record.getNumMines());
+        assertEquals(125, record.getFinalTime());
+        assertEquals(dateTime, record.getDateTime());
+        assertEquals(board.getHighestNeighbor(), record.getHighestNumber());
+        assertArrayEquals(board.getRawBoard(), record.getBoardState());
+        assertArrayEquals(board.getUncoveredCellsAsArray(), record.getUncoveredCells());
+        assertArrayEquals(board.getFlaggedCellsAsArray(), record.getFlaggedCells());
+
+        String gameJSON = logger.saveGame(board, 125, dateTime);
+        assertTrue(encoded.length * 10 < gameJSON.length());
+    }
+
+    @Test
+    void testLoadBinaryGameFile(@TempDir Path tempDir) {
+        String fileName = tempDir.resolve("finished_games.bin").toString();
+        MinesweeperLogging logger = new MinesweeperLogging();
+        for (int i = 0; i < 3; i++) {
+            board = new MinefieldBoard(rows, cols, numMines);
+            MinesweeperLogging.saveBinaryGameToFile(logger.saveGameBinary(board, i, LocalDateTime.now()), fileName);
+        }
+
+        List<GameRecord> records = MinesweeperGameLoader.loadGamesFromBinaryFile(fileName);
+        assertEquals(3, records.size());
+        assertArrayEquals(board.getRawBoard(), records.get(2).getBoardState());
+        assertEquals(2, records.get(2).getFinalTime());
+    }
+}
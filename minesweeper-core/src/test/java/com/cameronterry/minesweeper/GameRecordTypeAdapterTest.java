@@ -0,0 +1,39 @@
+package com.cameronterry.minesweeper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+
+class GameRecordTypeAdapterTest {
+    MinefieldBoard board;
+
+    @BeforeEach
+    void setUp() {
+        board = new MinefieldBoard(9, 9, 10);
+    }
+
+    @Test
+    void testGameRecordAdapter() {
+        // records written before uncovered/flagged cells were logged, in arbitrary key order
+        String legacyJSON = "{\"finalTime\":42,\"dateTime\":\"2024-01-02T03:04:05.678\","
+                + "\"finalBoardState\":[[-1,1],[1,1]],\"boardSize\":[2,2,1],\"highestNumber\":1}";
+        GameRecord legacy = MinesweeperGameLoader.readRecord(legacyJSON);
+        assertEquals(2, legacy.getRows());
+        assertEquals(1, legacy.getNumMines());
+        assertEquals(42, legacy.getFinalTime());
+        assertArrayEquals(new int[][]{{-1, 1}, {1, 1}}, legacy.getBoardState());
+        assertNull(legacy.getUncoveredCells());
+
+        MinesweeperLogging logger = new MinesweeperLogging();
+        LocalDateTime dateTime = LocalDateTime.now();
+        GameRecord record = MinesweeperGameLoader.readRecord(logger.saveGame(board, 7, dateTime));
+        assertArrayEquals(board.getRawBoard(), record.getBoardState());
+        assertArrayEquals(board.getUncoveredCellsAsArray(), record.getUncoveredCells());
+        assertArrayEquals(board.getFlaggedCellsAsArray(), record.getFlaggedCells());
+        assertEquals(board.getHighestNeighbor(), record.getHighestNumber());
+        assertEquals(dateTime, record.getDateTime());
+    }
+}
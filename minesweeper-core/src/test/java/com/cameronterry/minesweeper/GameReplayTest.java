@@ -0,0 +1,45 @@
+package com.cameronterry.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+class GameReplayTest {
+    @Test
+    void replaySeeksToEveryMove() {
+        MinefieldBoard board = new MinefieldBoard(30, 30, 100, 42L);
+        GameReplay replay = new GameReplay(board);
+        List<String> states = new ArrayList<>();
+        states.add(board.getBoardStateStr());
+
+        Random random = new Random(7);
+        GameReplay.Move[] moves = {GameReplay.Move.UNCOVER, GameReplay.Move.FLAG, GameReplay.Move.CHORD};
+        for (int i = 0; i < 100; i++) {
+            int r = random.nextInt(30);
+            int c = random.nextInt(30);
+            GameReplay.Move move = moves[random.nextInt(moves.length)];
+            if (move == GameReplay.Move.UNCOVER && board.getMines()[r][c]) {
+                move = GameReplay.Move.FLAG;
+            }
+            switch (move) {
+                case UNCOVER -> board.uncover(r, c);
+                case FLAG -> board.flagCell(r, c);
+                case CHORD -> board.chord(r, c);
+            }
+            replay.record(move, r, c, board);
+            states.add(board.getBoardStateStr());
+        }
+
+        GameReplay restored = GameReplay.fromBytes(new MinesweeperLogging().saveReplay(replay));
+        assertEquals(100, restored.getMoveCount());
+        assertEquals(42L, restored.getSeed());
+        for (int move = 0; move <= 100; move++) {
+            assertEquals(states.get(move), restored.boardAt(move).getBoardStateStr());
+        }
+        assertThrows(IllegalArgumentException.class, () -> restored.boardAt(101));
+    }
+}
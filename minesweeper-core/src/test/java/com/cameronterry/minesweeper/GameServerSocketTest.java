@@ -0,0 +1,47 @@
+package com.cameronterry.minesweeper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.time.Duration;
+
+class GameServerSocketTest {
+    @Test
+    void testGameServerSocket(@TempDir Path tempDir) throws Exception {
+        try (GameServer server = new GameServer(tempDir, Duration.ofHours(1));
+             GameServerSocket serverSocket = new GameServerSocket(server, 0);
+             Socket socket = new Socket(InetAddress.getLoopbackAddress(), serverSocket.getPort());
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true)) {
+            out.println("OPEN 9 9 10");
+            String[] opened = in.readLine().split(" ");
+            assertEquals("OK", opened[0]);
+            long id = Long.parseLong(opened[1]);
+
+            out.println("FLAG " + id + " 0 0");
+            assertEquals("OK 1 false false " + BoardHistory.change(0, CellState.COVERED, CellState.FLAGGED), in.readLine());
+
+            out.println("VIEW " + id);
+            String[] view = in.readLine().split(" ");
+            assertEquals("9", view[1]);
+            assertEquals("F" + "-".repeat(80), view[3]);
+
+            out.println("FLAG " + id + " 9 0");
+            assertTrue(in.readLine().startsWith("ERR"));
+            out.println("SHRUG");
+            assertTrue(in.readLine().startsWith("ERR"));
+
+            out.println("CLOSE " + id);
+            assertEquals("OK", in.readLine());
+            assertEquals(0, server.sessionCount());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.cameronterry.minesweeper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+class GameServerTest {
+    @Test
+    void testGameServer(@TempDir Path tempDir) throws Exception {
+        try (GameServer server = new GameServer(tempDir, Duration.ofHours(1))) {
+            int sessions = 500;
+            long[] ids = new long[sessions];
+            MinefieldBoard[] expected = new MinefieldBoard[sessions];
+            for (int i = 0; i < sessions; i++) {
+                ids[i] = server.open(new MinefieldBoard(9, 9, 10, i));
+                expected[i] = new MinefieldBoard(9, 9, 10, i);
+            }
+
+            // every session gets the same first move from many threads at once; only one of them
+            // finds the cell still covered
+            List<CompletableFuture<MoveQueue.MoveResult>> results = new ArrayList<>();
+            for (int i = 0; i < sessions; i++) {
+                int safeCell = expected[i].getLegalCells().nextSetBit(0);
+                expected[i].uncover(safeCell / 9, safeCell % 9);
+                for (int t = 0; t < 4; t++) {
+                    results.add(server.submit(ids[i], GameReplay.Move.UNCOVER, safeCell / 9, safeCell % 9));
+                }
+            }
+            for (int i = 0; i < sessions; i++) {
+                int revealed = 0;
+                for (int t = 0; t < 4; t++) {
+                    MoveQueue.MoveResult result = results.get(i * 4 + t).get();
+                    assertFalse(result.hitMine());
+                    revealed += result.changes().length;
+                }
+                assertEquals(expected[i].getUncoveredCells().cardinality(), revealed);
+            }
+
+            // idle sessions go to disk and come back on their next move
+            assertEquals(sessions, server.residentCount());
+            assertEquals(sessions, server.evictIdle(0));
+            assertEquals(0, server.residentCount());
+            assertEquals(sessions, server.sessionCount());
+            for (int i = 0; i < sessions; i++) {
+                int mine = expected[i].getMineCache().nextSetBit(0);
+                expected[i].flagCell(mine / 9, mine % 9);
+                MoveQueue.MoveResult result = server.submit(ids[i], GameReplay.Move.FLAG, mine / 9, mine % 9).get();
+                assertEquals(5, result.move());
+                BoardView view = server.view(ids[i]).get();
+                for (int r = 0; r < 9; r++) {
+                    for (int c = 0; c < 9; c++) {
+                        assertEquals(expected[i].getBoard()[r][c].getState(), view.getState(r, c));
+                    }
+                }
+            }
+            assertEquals(sessions, server.residentCount());
+
+            server.close(ids[0]);
+            assertEquals(sessions - 1, server.sessionCount());
+            assertThrows(IllegalArgumentException.class, () -> server.submit(ids[0], GameReplay.Move.UNCOVER, 0, 0));
+
+            server.close();
+            assertThrows(IllegalStateException.class, () -> server.submit(ids[1], GameReplay.Move.UNCOVER, 0, 0));
+            assertThrows(IllegalStateException.class, () -> server.view(ids[1]));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.cameronterry.minesweeper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+class GameStatisticsTest {
+    MinefieldBoard board;
+    int rows, cols, numMines;
+
+    @BeforeEach
+    void setUp() {
+        rows = 9;
+        cols = 9;
+        numMines = 10;
+        board = new MinefieldBoard(rows, cols, numMines);
+    }
+
+    @Test
+    void testGameStatistics(@TempDir Path tempDir) {
+        String jsonFile = tempDir.resolve("finished_games.json").toString();
+        MinesweeperLogging logger = new MinesweeperLogging();
+        MinefieldBoard larger = new MinefieldBoard(16, 16, 40);
+        try (GameLogWriter jsonLog = new GameLogWriter(jsonFile,
+                GameLogWriter.RecordFormat.JSON_LINES, GameLogWriter.FsyncPolicy.NEVER)) {
+            // times 1..100 on the small board, 10 games on the larger one spread over two days
+            for (int time = 100; time >= 1; time--) {
+                jsonLog.append(logger.saveGame(board, time, LocalDateTime.of(2024, 5, 1, 12, 0)));
+            }
+            for (int i = 0; i < 10; i++) {
+                jsonLog.append(logger.saveGame(larger, 200 + i, LocalDateTime.of(2024, 5, 1 + i % 2, 12, 0)));
+            }
+        }
+
+        GameStatistics statistics = GameStatistics.compute(jsonFile, GameLogWriter.RecordFormat.JSON_LINES);
+        GameStatistics.ConfigurationStats small = statistics.get(new GameStatistics.Configuration(rows, cols, numMines));
+        assertEquals(100, small.getGamesPlayed());
+        assertEquals(1, small.getBestTime());
+        assertEquals(50, small.getMedianTime());
+        assertEquals(95, small.percentileTime(95));
+        assertEquals(100, small.getHighestNumberCounts()[board.getHighestNeighbor()]);
+        assertEquals(1, small.getGamesPerDay().size());
+
+        GameStatistics.ConfigurationStats large = statistics.get(new GameStatistics.Configuration(16, 16, 40));
+        assertEquals(10, large.getGamesPlayed());
+        assertEquals(200, large.getBestTime());
+        assertEquals(2, large.getGamesPerDay().size());
+        assertEquals(new GameStatistics.Configuration(rows, cols, numMines), statistics.getEntries().get(0).getKey());
+    }
+}
@@ -0,0 +1,56 @@
+package com.cameronterry.minesweeper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class LayoutCacheTest {
+    @Test
+    void layoutCacheEvictsLeastRecentlyUsed(@TempDir Path tempDir) throws Exception {
+        String fileName = tempDir.resolve("layouts.bin").toString();
+        LayoutCache.fill(fileName, 9, 9, 10, 3, LayoutCache.DEFAULT_MAX_BYTES);
+
+        try (LayoutCache cache = LayoutCache.open(fileName)) {
+            assertEquals(3, cache.remaining(9, 9, 10));
+            MinefieldBoard cached = cache.take(9, 9, 10).orElseThrow();
+            assertEquals(10, cached.getNumMines());
+            assertFalse(cached.getUncoveredCells().isEmpty());
+            assertTrue(NoGuessGenerator.isNoGuess(cached.getMines(), 10));
+            assertArrayEquals(cached.getMines(), new MinefieldBoard(9, 9, 10, cached.getSeed()).getMines());
+            assertTrue(cache.take(16, 16, 40).isEmpty());
+        }
+
+        // consumption is written through the mapping
+        try (LayoutCache cache = LayoutCache.open(fileName)) {
+            assertEquals(2, cache.remaining(9, 9, 10));
+        }
+
+        // room for only one section: the older one goes
+        LayoutCache.Key key = new LayoutCache.Key(16, 16, 40, NoGuessGenerator.VERSION);
+        long sectionSize = LayoutCache.SECTION_HEADER_SIZE + 2L * key.layoutSize();
+        LayoutCache.fill(fileName, 16, 16, 40, 2, LayoutCache.HEADER_SIZE + sectionSize);
+        try (LayoutCache cache = LayoutCache.open(fileName)) {
+            assertEquals(0, cache.remaining(9, 9, 10));
+            assertEquals(2, cache.remaining(16, 16, 40));
+        }
+        assertEquals(LayoutCache.HEADER_SIZE + sectionSize, Files.size(Path.of(fileName)));
+
+        // a truncated file keeps the sections it holds in full
+        String truncatedName = tempDir.resolve("truncated.bin").toString();
+        LayoutCache.fill(truncatedName, 9, 9, 10, 3, LayoutCache.DEFAULT_MAX_BYTES);
+        LayoutCache.fill(truncatedName, 16, 16, 40, 2, LayoutCache.DEFAULT_MAX_BYTES);
+        byte[] bytes = Files.readAllBytes(Path.of(truncatedName));
+        Files.write(Path.of(truncatedName), Arrays.copyOf(bytes, bytes.length - 10));
+        try (LayoutCache cache = LayoutCache.open(truncatedName)) {
+            assertEquals(3, cache.remaining(9, 9, 10));
+            assertEquals(0, cache.remaining(16, 16, 40));
+            assertTrue(cache.take(16, 16, 40).isEmpty());
+        }
+    }
+}
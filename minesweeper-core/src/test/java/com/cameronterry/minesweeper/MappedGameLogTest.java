@@ -0,0 +1,107 @@
+package com.cameronterry.minesweeper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+class MappedGameLogTest {
+    MinefieldBoard board;
+
+    @BeforeEach
+    void setUp() {
+        board = new MinefieldBoard(9, 9, 10);
+    }
+
+    @Test
+    void testMappedGameLog(@TempDir Path tempDir) throws Exception {
+        String jsonFile = tempDir.resolve("finished_games.json").toString();
+        String binaryFile = tempDir.resolve("finished_games.bin").toString();
+        MinesweeperLogging logger = new MinesweeperLogging();
+        try (GameLogWriter jsonLog = new GameLogWriter(jsonFile,
+                GameLogWriter.RecordFormat.JSON_LINES, GameLogWriter.FsyncPolicy.NEVER);
+             GameLogWriter binaryLog = new GameLogWriter(binaryFile,
+                GameLogWriter.RecordFormat.LENGTH_PREFIXED, GameLogWriter.FsyncPolicy.NEVER)) {
+            for (int i = 0; i < 300; i++) {
+                board = new MinefieldBoard(9 + i % 5, 9 + i % 7, 10 + i % 3);
+                jsonLog.append(logger.saveGame(board, i, LocalDateTime.now()));
+                binaryLog.append(logger.saveGameBinary(board, i, LocalDateTime.now()));
+            }
+        }
+
+        // ranges cover the whole file without overlapping
+        List<MappedGameLog.LogRange> ranges = MappedGameLog.split(binaryFile, GameLogWriter.RecordFormat.LENGTH_PREFIXED, 7);
+        assertTrue(ranges.size() > 1);
+        assertEquals(0, ranges.get(0).start());
+        assertEquals(Files.size(Path.of(binaryFile)), ranges.get(ranges.size() - 1).end());
+        for (int i = 1; i < ranges.size(); i++) {
+            assertEquals(ranges.get(i - 1).end(), ranges.get(i).start());
+        }
+
+        List<GameRecord> expected = MinesweeperGameLoader.loadGamesFromFile(jsonFile);
+        List<GameRecord> mappedJson = MinesweeperGameLoader.loadGamesMapped(jsonFile, GameLogWriter.RecordFormat.JSON_LINES);
+        List<GameRecord> mappedBinary = MinesweeperGameLoader.loadGamesMapped(binaryFile, GameLogWriter.RecordFormat.LENGTH_PREFIXED);
+        assertEquals(300, mappedJson.size());
+        assertEquals(300, mappedBinary.size());
+        for (int i = 0; i < expected.size(); i++) {
+            for (GameRecord record : List.of(mappedJson.get(i), mappedBinary.get(i))) {
+                assertEquals(expected.get(i).getRows(), record.getRows());
+                assertEquals(expected.get(i).getCols(), record.getCols());
+                assertEquals(expected.get(i).getNumMines(), record.getNumMines());
+                assertEquals(expected.get(i).getFinalTime(), record.getFinalTime());
+                assertEquals(expected.get(i).getHighestNumber(), record.getHighestNumber());
+            }
+            assertEquals(expected.get(i).getDateTime(), mappedJson.get(i).getDateTime());
+        }
+        assertArrayEquals(expected.get(299).getBoardState(), mappedJson.get(299).getBoardState());
+        assertArrayEquals(expected.get(299).getBoardState(), mappedBinary.get(299).getBoardState());
+
+        // a crash mid-write leaves a torn last record, which is skipped rather than failing the load
+        byte[] json = logger.saveGame(board, 300, LocalDateTime.now()).getBytes(StandardCharsets.UTF_8);
+        Files.write(Path.of(jsonFile), Arrays.copyOf(json, json.length / 2), StandardOpenOption.APPEND);
+        byte[] binary = logger.saveGameBinary(board, 300, LocalDateTime.now());
+        ByteArrayOutputStream torn = new ByteArrayOutputStream();
+        GameRecordCodec.writeVarInt(torn, binary.length);
+        torn.write(binary, 0, binary.length / 2);
+        Files.write(Path.of(binaryFile), torn.toByteArray(), StandardOpenOption.APPEND);
+        assertEquals(300, MinesweeperGameLoader.loadGamesMapped(jsonFile, GameLogWriter.RecordFormat.JSON_LINES).size());
+        assertEquals(300, MinesweeperGameLoader.loadGamesMapped(binaryFile, GameLogWriter.RecordFormat.LENGTH_PREFIXED).size());
+
+        // torn inside the length prefix itself
+        String tornPrefixFile = tempDir.resolve("torn_prefix.bin").toString();
+        torn.reset();
+        GameRecordCodec.writeVarInt(torn, binary.length);
+        torn.write(binary, 0, binary.length);
+        torn.write(0x80);
+        Files.write(Path.of(tornPrefixFile), torn.toByteArray());
+        assertEquals(1, MinesweeperGameLoader.loadGamesMapped(tornPrefixFile, GameLogWriter.RecordFormat.LENGTH_PREFIXED).size());
+
+        // a malformed line before the end is skipped and counted, the records around it still load
+        String corruptFile = tempDir.resolve("corrupt.json").toString();
+        String line = logger.saveGame(board, 1, LocalDateTime.now());
+        Files.writeString(Path.of(corruptFile), line + "\n" + line.substring(0, line.length() / 2) + "\n" + line + "\n");
+        List<MappedGameLog.LogRange> corruptRanges = MappedGameLog.split(corruptFile, GameLogWriter.RecordFormat.JSON_LINES, 1);
+        List<GameRecord> loaded = new ArrayList<>();
+        assertEquals(1, MappedGameLog.scan(corruptFile, GameLogWriter.RecordFormat.JSON_LINES, corruptRanges.get(0), loaded::add));
+        assertEquals(2, loaded.size());
+        GameStatistics statistics = GameStatistics.compute(corruptFile, GameLogWriter.RecordFormat.JSON_LINES);
+        assertEquals(1, statistics.getSkippedRecords());
+        assertEquals(2, statistics.getEntries().get(0).getValue().getGamesPlayed());
+
+        // an unreadable log is an error, not an empty history
+        assertThrows(UncheckedIOException.class, () -> GameStatistics.compute(tempDir.toString(), GameLogWriter.RecordFormat.JSON_LINES));
+    }
+}
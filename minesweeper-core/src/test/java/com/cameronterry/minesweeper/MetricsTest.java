@@ -0,0 +1,51 @@
+package com.cameronterry.minesweeper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class MetricsTest {
+    MinefieldBoard board;
+
+    @BeforeEach
+    void setUp() {
+        board = new MinefieldBoard(9, 9, 10);
+    }
+
+    @Test
+    void metricsHistogramPercentiles(@TempDir Path tempDir) throws Exception {
+        // exact below 8, then 8 buckets per power of two
+        for (long value = 0; value < 1 << 20; value += 7) {
+            int index = Metrics.Histogram.bucketIndex(value);
+            assertTrue(value <= Metrics.Histogram.bucketUpperBound(index));
+            assertTrue(index == 0 || value > Metrics.Histogram.bucketUpperBound(index - 1));
+            assertTrue(Metrics.Histogram.bucketUpperBound(index) - value <= value / 8);
+        }
+
+        Metrics.Histogram histogram = Metrics.histogram("test.histogram");
+        histogram.reset();
+        for (int value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+        Metrics.Summary summary = histogram.summary();
+        assertEquals(1000, summary.count());
+        assertEquals(500.5, summary.mean(), 1e-9);
+        assertEquals(1000, summary.max());
+        assertTrue(summary.p50() >= 500 && summary.p50() <= 500 * 9 / 8);
+        assertTrue(summary.p99() >= 990 && summary.p99() <= 1000);
+
+        board.uncover(0, 0);
+        assertTrue(Metrics.summaries().stream().anyMatch(s -> s.name().equals("board.uncover") && s.count() > 0));
+        Metrics.counter("test.counter").add(3);
+        Path dump = tempDir.resolve("metrics.txt");
+        Metrics.dump(dump);
+        String text = Files.readString(dump);
+        assertTrue(text.contains("board.uncover"));
+        assertTrue(text.contains("test.counter"));
+    }
+}
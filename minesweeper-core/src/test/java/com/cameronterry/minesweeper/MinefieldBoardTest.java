@@ -8,7 +8,6 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.*;
 
-import javafx.util.Pair;
 import java.time.LocalDateTime;
 
 class MinefieldBoardTest {
@@ -89,17 +88,17 @@ class MinefieldBoardTest {
     @Test
     void getLegalCells() {
         System.out.println(board.getBoardStateStr());
-        HashSet<Pair<Integer, Integer>> legalCells = board.getLegalCells();
+        BitSet legalCells = board.getLegalCells();
 
         while (!legalCells.isEmpty()) {
-            for (Pair<Integer, Integer> cell : legalCells) {
-                assertFalse(board.getMines()[cell.getKey()][cell.getValue()]);
+            for (int cell = legalCells.nextSetBit(0); cell >= 0; cell = legalCells.nextSetBit(cell + 1)) {
+                assertFalse(board.getMines()[cell / board.getCols()][cell % board.getCols()]);
             }
-            System.out.println("Number of legal cells: " + legalCells.size());
+            System.out.println("Number of legal cells: " + legalCells.cardinality());
 
             // uncover a random cell
-            Pair<Integer, Integer> randomCell = legalCells.iterator().next();
-            board.uncover(randomCell.getKey(), randomCell.getValue());
+            int randomCell = legalCells.nextSetBit(0);
+            board.uncover(randomCell / board.getCols(), randomCell % board.getCols());
 
             // update the legal cells
             legalCells = board.getLegalCells();
@@ -116,11 +115,11 @@ class MinefieldBoardTest {
             for (int c = 0; c < board.getCols(); c++) {
                 CellState cellState = board.getBoard()[r][c].getState();
                 if (cellState == CellState.COVERED || cellState == CellState.FLAGGED) {
-                    assertTrue(board.getCoveredCells().contains(new Pair<>(r, c)));
-                    assertFalse(board.getUncoveredCells().contains(new Pair<>(r, c)));
+                    assertTrue(board.getCoveredCells().get(board.cellIndex(r, c)));
+                    assertFalse(board.getUncoveredCells().get(board.cellIndex(r, c)));
                 } else {
-                    assertFalse(board.getCoveredCells().contains(new Pair<>(r, c)));
-                    assertTrue(board.getUncoveredCells().contains(new Pair<>(r, c)));
+                    assertFalse(board.getCoveredCells().get(board.cellIndex(r, c)));
+                    assertTrue(board.getUncoveredCells().get(board.cellIndex(r, c)));
                 }
             }
         }
@@ -139,21 +138,21 @@ class MinefieldBoardTest {
     @Test
     void uncoverSquares() {
         // find board squares that are equal to 0
-        HashSet<Pair<Integer, Integer>> zeroSquares = new HashSet<>();
+        BitSet zeroSquares = new BitSet();
         for (int r = 0; r < board.getRows(); r++) {
             for (int c = 0; c < board.getCols(); c++) {
                 int boardRawCellValue = board.getBoard()[r][c].getValue().getValue();
                 if (boardRawCellValue == 0) {
-                    zeroSquares.add(new Pair<>(r, c));
+                    zeroSquares.set(board.cellIndex(r, c));
                 }
             }
         }
 
         // find the first square surrounded by zero on all sides
-        Pair<Integer, Integer> firstZeroSquare = null;
-        for (Pair<Integer, Integer> zeroSquare : zeroSquares) {
-            int r = zeroSquare.getKey();
-            int c = zeroSquare.getValue();
+        int firstZeroSquare = -1;
+        for (int zeroSquare = zeroSquares.nextSetBit(0); zeroSquare >= 0; zeroSquare = zeroSquares.nextSetBit(zeroSquare + 1)) {
+            int r = zeroSquare / board.getCols();
+            int c = zeroSquare % board.getCols();
             if (r > 0 && r < board.getRows() - 1 && c > 0 && c < board.getCols() - 1) {
                 if (board.getBoard()[r - 1][c].getValue().getValue() == 0 &&
                     board.getBoard()[r + 1][c].getValue().getValue() == 0 &&
@@ -166,17 +165,97 @@ class MinefieldBoardTest {
         }
 
         // if there is no square surrounded by zero on all sides, then just pick the first square
-        if (firstZeroSquare == null) {
-            firstZeroSquare = zeroSquares.iterator().next();
+        if (firstZeroSquare < 0) {
+            firstZeroSquare = zeroSquares.nextSetBit(0);
         }
+        int zeroRow = firstZeroSquare / board.getCols();
+        int zeroCol = firstZeroSquare % board.getCols();
 
-        System.out.println("First zero square: (" + firstZeroSquare.getKey() + ", " + firstZeroSquare.getValue() + ")");
+        System.out.println("First zero square: (" + zeroRow + ", " + zeroCol + ")");
 
         // uncover the square
-        board.uncover(firstZeroSquare.getKey(), firstZeroSquare.getValue());
+        board.uncover(zeroRow, zeroCol);
         System.out.println(board.getBoardStateStr());
     }
 
+    @Test
+    void lastRevealedCells() {
+        int safeCell = board.getLegalCells().nextSetBit(0);
+        BitSet coveredBefore = (BitSet) board.getCoveredCells().clone();
+
+        board.uncover(safeCell / board.getCols(), safeCell % board.getCols());
+
+        // exactly the cells that went from covered to uncovered are reported
+        coveredBefore.andNot(board.getCoveredCells());
+        assertEquals(coveredBefore, board.getLastRevealedCells());
+        assertTrue(board.getLastRevealedCells().get(safeCell));
+
+        // uncovering the same cell again changes nothing
+        board.uncover(safeCell / board.getCols(), safeCell % board.getCols());
+        assertTrue(board.getLastRevealedCells().isEmpty());
+    }
+
+    @Test
+    void chordUncoversUnflaggedNeighbors() {
+        // find any number cell and reveal it
+        int numberR = -1, numberC = -1;
+        for (int r = 0; r < board.getRows() && numberR < 0; r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (board.getBoard()[r][c].getValue().getValue() > 0) {
+                    numberR = r;
+                    numberC = c;
+                    break;
+                }
+            }
+        }
+        board.getBoard()[numberR][numberC].setState(CellState.UNCOVERED);
+
+        // not enough flags yet: chording does nothing
+        assertFalse(board.chord(numberR, numberC));
+        assertTrue(board.getLastRevealedCells().isEmpty());
+
+        for (int r = numberR - 1; r <= numberR + 1; r++) {
+            for (int c = numberC - 1; c <= numberC + 1; c++) {
+                if (!board.outOfBounds(r, c) && board.getMines()[r][c]) {
+                    board.flagCell(r, c);
+                }
+            }
+        }
+
+        assertFalse(board.chord(numberR, numberC));
+        for (int r = numberR - 1; r <= numberR + 1; r++) {
+            for (int c = numberC - 1; c <= numberC + 1; c++) {
+                if (board.outOfBounds(r, c)) {
+                    continue;
+                }
+                CellState expected = board.getMines()[r][c] ? CellState.FLAGGED : CellState.UNCOVERED;
+                assertSame(expected, board.getBoard()[r][c].getState());
+            }
+        }
+    }
+
+    @Test
+    void seededBoardsAreReproducible() {
+        MinefieldBoard first = new MinefieldBoard(16, 30, 99, 1234L);
+        MinefieldBoard second = new MinefieldBoard(16, 30, 99, 1234L);
+        assertArrayEquals(first.getMines(), second.getMines());
+        assertArrayEquals(first.getRawBoard(), second.getRawBoard());
+        assertEquals(1234L, first.getSeed());
+    }
+
+    @Test
+    void boardFromFinishedRecord() {
+        MinesweeperLogging logger = new MinesweeperLogging();
+        GameRecord record = MinesweeperGameLoader.readRecord(logger.saveGame(board, 10, LocalDateTime.now()));
+
+        MinefieldBoard finished = MinefieldBoard.fromFinishedRecord(record);
+        assertArrayEquals(board.getMines(), finished.getMines());
+        assertArrayEquals(record.getBoardState(), finished.getRawBoard());
+        assertEquals(numMines, finished.getFlaggedCells().cardinality());
+        assertEquals(rows * cols - numMines, finished.getUncoveredCells().cardinality());
+        assertTrue(finished.getLegalCells().isEmpty());
+    }
+
     @Test
     void calculateNeighborDistribution() {
 //        System.out.println("Rows: " + rows + ", Cols: " + cols + ", Mines: " + numMines);
@@ -275,8 +354,8 @@ class MinefieldBoardTest {
                 }
             }
         }
-        assertEquals(numUncoveredCells, board.getUncoveredCells().size());
-        assertEquals(numFlaggedCells, board.getFlaggedCells().size());
+        assertEquals(numUncoveredCells, board.getUncoveredCells().cardinality());
+        assertEquals(numFlaggedCells, board.getFlaggedCells().cardinality());
     }
 
     @Test
@@ -329,9 +408,8 @@ class MinefieldBoardTest {
 
             int r = minProbabilityTuple.r();
             int c = minProbabilityTuple.c();
-            Pair rcpair = new Pair(r, c);
-            HashMap<Pair<Integer, Integer>, String> marker = new HashMap<>();
-            marker.put(rcpair, "+");
+            HashMap<Integer, String> marker = new HashMap<>();
+            marker.put(board.cellIndex(r, c), "+");
 
             boolean gameOver = board.uncover(r, c);
             System.out.println(board.getBoardStateStr(marker));
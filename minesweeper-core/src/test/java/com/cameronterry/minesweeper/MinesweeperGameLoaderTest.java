@@ -0,0 +1,73 @@
+package com.cameronterry.minesweeper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+class MinesweeperGameLoaderTest {
+    MinefieldBoard board;
+    int rows, cols, numMines;
+
+    @BeforeEach
+    void setUp() {
+        rows = 9;
+        cols = 9;
+        numMines = 10;
+        board = new MinefieldBoard(rows, cols, numMines);
+    }
+
+    @Test
+    void testLazyGameFileLoading(@TempDir Path tempDir) {
+        String fileName = tempDir.resolve("finished_games.json").toString();
+        MinesweeperLogging logger = new MinesweeperLogging();
+        List<int[][]> savedBoards = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            board = new MinefieldBoard(rows, cols, numMines);
+            savedBoards.add(board.getRawBoard());
+            MinesweeperLogging.saveGameToFile(logger.saveGame(board, 10 + i, LocalDateTime.now()), fileName);
+        }
+
+        List<GameRecord> records = MinesweeperGameLoader.loadGamesFromFile(fileName);
+        assertEquals(3, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            GameRecord record = records.get(i);
+            assertEquals(rows, record.getRows());
+            assertEquals(numMines, record.getNumMines());
+            assertEquals(10 + i, record.getFinalTime());
+            // board arrays are read back from the record's offset in the file
+            assertArrayEquals(savedBoards.get(i), record.getBoardState());
+        }
+    }
+
+    @Test
+    void testLinesAcrossReadChunks(@TempDir Path tempDir) throws Exception {
+        // records well past the 64 KB read chunk in total, a blank line, and no separator after the last one
+        Path file = tempDir.resolve("finished_games.json");
+        MinesweeperLogging logger = new MinesweeperLogging();
+        List<int[][]> savedBoards = new ArrayList<>();
+        StringBuilder log = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            MinefieldBoard large = new MinefieldBoard(30, 30, 150);
+            savedBoards.add(large.getRawBoard());
+            log.append(logger.saveGame(large, i, LocalDateTime.now())).append(i == 50 ? "\n\n" : "\n");
+        }
+        Files.writeString(file, log.toString().stripTrailing());
+        assertTrue(Files.size(file) > 3 * (1 << 16));
+
+        List<GameRecord> records = MinesweeperGameLoader.loadGamesFromFile(file.toString());
+        assertEquals(100, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(i, records.get(i).getFinalTime());
+            assertArrayEquals(savedBoards.get(i), records.get(i).getBoardState());
+        }
+    }
+}
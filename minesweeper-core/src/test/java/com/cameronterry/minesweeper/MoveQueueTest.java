@@ -0,0 +1,97 @@
+package com.cameronterry.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class MoveQueueTest {
+    @Test
+    void testMoveQueueUnderContention() throws Exception {
+        int producers = 8;
+        int movesPerProducer = 50_000;
+        ExecutorService consumer = Executors.newVirtualThreadPerTaskExecutor();
+        MoveQueue queue = new MoveQueue(consumer);
+
+        // state only the consumer touches, as a board would be
+        int[] lastSeen = new int[producers];
+        Arrays.fill(lastSeen, -1);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        AtomicBoolean reordered = new AtomicBoolean();
+        int[] applied = new int[1];
+        List<Integer> published = Collections.synchronizedList(new ArrayList<>());
+        queue.subscribe(result -> published.add(result.move()));
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < movesPerProducer; i++) {
+                    int sequence = i;
+                    queue.submit(() -> {
+                        if (inFlight.incrementAndGet() != 1) {
+                            overlapped.set(true);
+                        }
+                        // each producer's moves are applied in the order it submitted them
+                        if (lastSeen[producer] != sequence - 1) {
+                            reordered.set(true);
+                        }
+                        lastSeen[producer] = sequence;
+                        applied[0]++;
+                        inFlight.decrementAndGet();
+                        // every other move changes nothing and is not published
+                        return sequence % 2 == 0 ? new MoveQueue.MoveResult(applied[0], false, false, new int[0]) : null;
+                    });
+                }
+            }));
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // queued behind every move submitted above
+        int total = queue.execute(() -> applied[0]).get();
+
+        assertEquals(producers * movesPerProducer, total);
+        assertFalse(overlapped.get());
+        assertFalse(reordered.get());
+        assertEquals(total / 2, published.size());
+        for (int i = 1; i < published.size(); i++) {
+            assertTrue(published.get(i - 1) < published.get(i));
+        }
+
+        // a failing move is reported to its submitter and the queue carries on
+        CompletableFuture<MoveQueue.MoveResult> failed = queue.submit(() -> {
+            throw new IllegalStateException("bad move");
+        });
+        assertThrows(ExecutionException.class, failed::get);
+        assertEquals(total, queue.execute(() -> applied[0]).get());
+        consumer.shutdown();
+
+        // once the executor turns drains away, every move fails instead of waiting forever
+        for (int i = 0; i < 2; i++) {
+            CompletableFuture<Integer> rejected = queue.execute(() -> applied[0]);
+            assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+        }
+    }
+}
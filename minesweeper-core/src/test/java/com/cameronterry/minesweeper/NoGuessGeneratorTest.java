@@ -0,0 +1,33 @@
+package com.cameronterry.minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NoGuessGeneratorTest {
+    @Test
+    void noGuessBoardsAreSolvable() {
+        MinefieldBoard expert = NoGuessGenerator.generate(16, 30, 99).orElseThrow();
+        assertEquals(99, expert.getNumMines());
+        assertFalse(expert.getUncoveredCells().isEmpty());
+        assertTrue(NoGuessGenerator.isNoGuess(expert.getMines(), 99));
+        // the layout is still fully described by the seed
+        assertArrayEquals(expert.getMines(), new MinefieldBoard(16, 30, 99, expert.getSeed()).getMines());
+        // a given seed gives the same board every time
+        long seed = NoGuessGenerator.generate(16, 30, 99, 7).orElseThrow().getSeed();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(seed, NoGuessGenerator.generate(16, 30, 99, 7).orElseThrow().getSeed());
+        }
+
+        // (0, 0) and (0, 1) are walled in by mines, nothing tells which of the two holds the last one
+        boolean[][] mines = new boolean[9][9];
+        mines[1][0] = mines[1][1] = mines[1][2] = mines[0][2] = true;
+        mines[0][0] = true;
+        int start = NoGuessGenerator.startCell(mines);
+        assertFalse(mines[start / 9][start % 9]);
+        assertFalse(NoGuessGenerator.isNoGuess(mines, 5));
+        // without the mine inside, counting mines proves both cells safe
+        mines[0][0] = false;
+        assertTrue(NoGuessGenerator.isNoGuess(mines, 4));
+    }
+}